@@ -0,0 +1,10 @@
+package com.reliaquest.api.client;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class ApiResponseChanges {
+    private List<EmployeeChange> data;
+}
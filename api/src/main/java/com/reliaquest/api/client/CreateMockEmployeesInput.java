@@ -0,0 +1,17 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.model.CreateEmployeeRequest;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class CreateMockEmployeesInput {
+    private List<CreateEmployeeRequest> employees;
+
+    public CreateMockEmployeesInput() {}
+
+    public CreateMockEmployeesInput(List<CreateEmployeeRequest> employees) {
+        this.employees = employees;
+    }
+}
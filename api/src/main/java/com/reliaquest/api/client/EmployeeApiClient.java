@@ -1,60 +1,386 @@
 package com.reliaquest.api.client;
 
+import com.reliaquest.api.exception.UpstreamRateLimitedException;
 import com.reliaquest.api.model.Employee;
 import com.reliaquest.api.model.CreateEmployeeRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.http.HttpMethod;
-import org.springframework.http.MediaType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.concurrent.Queues;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.stream.LongStream;
 
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class EmployeeApiClient {
 
+    private static final String ALL_EMPLOYEES_KEY = "employees";
+    private static final String EMPLOYEE_KEY_PREFIX = "employee:";
+    private static final String CURSOR_PARAM = "cursor";
+    private static final String LIMIT_PARAM = "limit";
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final String CURSOR_END_HEADER = "X-Cursor-End";
+    private static final String CHANGES_PATH = "/changes";
+    private static final String BATCH_PATH = "/batch";
+    private static final String SINCE_PARAM = "since";
+    private static final String VERSION_HEADER = "X-Employees-Version";
+    private static final String EPOCH_HEADER = "X-Employees-Epoch";
+
     private final WebClient employeeWebClient;
+    private final UpstreamBudget upstreamBudget;
+    private final EmployeeStreamDecoder employeeStreamDecoder;
+    private final UpstreamPaging upstreamPaging;
+    private final UpstreamMetrics upstreamMetrics;
+
+    /*
+     * Upstream reads currently in flight, keyed by resource. Concurrent callers for the same resource share one
+     * request; the entry is dropped as soon as that request completes.
+     */
+    private final Map<String, Mono<?>> inFlight = new ConcurrentHashMap<>();
+
+    /*
+     * Last list successfully read from upstream with its ETag. It is revalidated on every read and served as is
+     * when the request budget is exhausted.
+     */
+    private volatile EmployeeListing lastKnown;
 
     public List<Employee> getAllEmployees() {
-        return employeeWebClient.get()
-                .retrieve()
-                .bodyToMono(ApiResponseList.class)
-                .map(ApiResponseList::getData)
-                .block();
+        return allEmployees().block();
     }
 
     public Employee getEmployeeById(String id) {
-        return employeeWebClient.get()
-                .uri("/{id}", id)
-                .retrieve()
-                .bodyToMono(ApiResponse.class)
-                .map(ApiResponse::getData)
-                .block();
+        return employeeById(id).block();
     }
 
     public Employee createEmployee(CreateEmployeeRequest request) {
-        return employeeWebClient.post()
+        return create(request).block();
+    }
+
+    public Mono<List<Employee>> allEmployees() {
+        return listing().map(EmployeeListing::employees);
+    }
+
+    /**
+     * Reads the full list together with the version it was read at. An unchanged list comes back as the very same
+     * {@link EmployeeListing} instance as the previous read.
+     */
+    public Mono<EmployeeListing> listing() {
+        Supplier<Mono<EmployeeListing>> read = upstreamPaging.isEnabled()
+                ? () -> streamEmployees().collectList().map(employees -> new EmployeeListing(null, null, employees))
+                : this::revalidatedList;
+        return coalesce(ALL_EMPLOYEES_KEY, () -> read.get()
+                .doOnNext(known -> {
+                    if (known != lastKnown) {
+                        upstreamMetrics.listEmployees(known.employees().size());
+                        lastKnown = known;
+                    }
+                })
+                .onErrorResume(UpstreamRateLimitedException.class, ex -> fallbackToLastKnown(ex)));
+    }
+
+    /**
+     * Reads the upstream writes made since {@code since}. Completes empty when they can no longer be replayed: the
+     * change log has been truncated past that version (410), or the server has restarted since, and the full list
+     * has to be read again.
+     */
+    public Mono<EmployeeChanges> changesSince(ListVersion since) {
+        return budgeted(() -> employeeWebClient.get()
+                .uri(uri -> uri.path(CHANGES_PATH).queryParam(SINCE_PARAM, since.version()).build())
+                .exchangeToMono(response -> {
+                    if (response.statusCode().isSameCodeAs(HttpStatus.GONE)) {
+                        upstreamMetrics.changeFeedResync();
+                        return response.releaseBody().then(Mono.<EmployeeChanges>empty());
+                    }
+                    if (response.statusCode().isError()) {
+                        return response.createError();
+                    }
+                    ListVersion version = listVersion(response.headers().asHttpHeaders());
+                    if (version == null || !version.epoch().equals(since.epoch())) {
+                        upstreamMetrics.changeFeedResync();
+                        return response.releaseBody().then(Mono.<EmployeeChanges>empty());
+                    }
+                    return response.bodyToMono(ApiResponseChanges.class)
+                            .map(body -> new EmployeeChanges(version,
+                                    body.getData() == null ? List.of() : body.getData()));
+                }));
+    }
+
+    /**
+     * Streams the upstream employee list, emitting each employee as soon as it has been decoded from the body.
+     * When paging is enabled the pages are fetched concurrently but emitted in list order.
+     */
+    public Flux<Employee> streamEmployees() {
+        if (upstreamPaging.isEnabled()) {
+            return pagedEmployees();
+        }
+        return budgetedMany(() -> employeeWebClient.get()
+                .retrieve()
+                .bodyToFlux(DataBuffer.class)
+                .transform(this::measured)
+                .transform(employeeStreamDecoder::decode));
+    }
+
+    /*
+     * Sends the ETag of the last list as If-None-Match. On a 304 the last decoded list is reused, so an unchanged list
+     * costs one round trip but no transfer or decoding. Otherwise the body is stream-decoded and kept with its ETag.
+     */
+    private Mono<EmployeeListing> revalidatedList() {
+        return budgeted(() -> {
+            EmployeeListing known = lastKnown;
+            String etag = known == null ? null : known.etag();
+            return employeeWebClient.get()
+                    .headers(headers -> {
+                        if (etag != null) {
+                            headers.setIfNoneMatch(etag);
+                        }
+                    })
+                    .exchangeToMono(response -> {
+                        if (etag != null && response.statusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+                            upstreamMetrics.notModified();
+                            return response.releaseBody().thenReturn(known);
+                        }
+                        if (response.statusCode().isError()) {
+                            return response.createError();
+                        }
+                        HttpHeaders headers = response.headers().asHttpHeaders();
+                        String responseEtag = headers.getETag();
+                        ListVersion version = listVersion(headers);
+                        return response.bodyToFlux(DataBuffer.class)
+                                .transform(this::measured)
+                                .transform(employeeStreamDecoder::decode)
+                                .collectList()
+                                .map(employees -> new EmployeeListing(responseEtag, version, employees));
+                    });
+        });
+    }
+
+    /*
+     * The first page tells us where the list ends, so all remaining cursors are known up front and can be requested
+     * in parallel. Employees created after the first page was read lie beyond that end and are left for the next read.
+     */
+    private Flux<Employee> pagedEmployees() {
+        int pageSize = upstreamPaging.pageSize();
+        return page(0).flatMapMany(first -> {
+            Flux<Flux<Employee>> remaining = Flux
+                    .fromStream(() -> LongStream.iterate(first.next(), cursor -> cursor < first.end(),
+                            cursor -> cursor + pageSize).boxed())
+                    .map(cursor -> page(cursor).flatMapMany(Page::employees));
+            return Flux.mergeSequential(Flux.just(first.employees()).concatWith(remaining),
+                    upstreamPaging.concurrency(), Queues.XS_BUFFER_SIZE);
+        });
+    }
+
+    private Mono<Page> page(long cursor) {
+        return budgeted(() -> employeeWebClient.get()
+                .uri(uri -> uri.queryParam(CURSOR_PARAM, cursor)
+                        .queryParam(LIMIT_PARAM, upstreamPaging.pageSize())
+                        .build())
+                .retrieve()
+                .toEntityFlux(DataBuffer.class)
+                .map(entity -> {
+                    // A server that does not page answers with the whole list and no cursor headers.
+                    long end = longHeader(entity.getHeaders(), CURSOR_END_HEADER, cursor);
+                    long next = longHeader(entity.getHeaders(), NEXT_CURSOR_HEADER, end);
+                    Flux<Employee> employees = entity.getBody()
+                            .transform(this::measured)
+                            .transform(employeeStreamDecoder::decode);
+                    return new Page(employees, next, end);
+                }));
+    }
+
+    public Mono<Employee> employeeById(String id) {
+        return coalesce(EMPLOYEE_KEY_PREFIX + id, () -> budgeted(() -> employeeWebClient.get()
+                        .uri("/{id}", id)
+                        .retrieve()
+                        .bodyToMono(ApiResponse.class)
+                        .map(ApiResponse::getData))
+                .onErrorResume(UpstreamRateLimitedException.class, ex -> fallbackToLastKnown(id, ex)));
+    }
+
+    public Mono<Employee> create(CreateEmployeeRequest request) {
+        return budgetedOnce(() -> employeeWebClient.post()
                 .bodyValue(request)
                 .retrieve()
                 .bodyToMono(ApiResponse.class)
-                .map(ApiResponse::getData)
-                .block();
+                .map(ApiResponse::getData));
     }
 
-    public String deleteEmployeeByName(Employee emp) {
-        String name = emp.getEmployee_name();
+    /**
+     * Creates all employees with one upstream call. Upstream creates all or none and returns them in request order.
+     * Like every write it is sent once; a lost answer surfaces as an error, and the employees may exist.
+     */
+    public Mono<List<Employee>> createAll(List<CreateEmployeeRequest> requests) {
+        return budgetedOnce(() -> employeeWebClient.post()
+                .uri(BATCH_PATH)
+                .bodyValue(new CreateMockEmployeesInput(requests))
+                .retrieve()
+                .bodyToMono(ApiResponseList.class)
+                .map(ApiResponseList::getData));
+    }
 
-        DeleteMockEmployeeInput body = new DeleteMockEmployeeInput(name);
-        return employeeWebClient
-                .method(HttpMethod.DELETE)
-                .contentType(MediaType.APPLICATION_JSON)
-                .bodyValue(body)
+    /**
+     * Deletes the employee with this id in one upstream call and returns it, or completes empty when upstream does
+     * not know the id. It is sent once: a resent delete whose first attempt succeeded would come back empty.
+     */
+    public Mono<Employee> deleteById(String id) {
+        return budgetedOnce(() -> employeeWebClient.delete()
+                .uri("/{id}", id)
                 .retrieve()
-                .bodyToMono(String.class)
-                .map(resp -> name)
-                .block();
+                .bodyToMono(ApiResponse.class)
+                .mapNotNull(ApiResponse::getData)
+                .onErrorResume(WebClientResponseException.NotFound.class, ex -> Mono.empty()));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Mono<T> coalesce(String key, Supplier<Mono<T>> request) {
+        return Mono.defer(() -> {
+            boolean[] started = new boolean[1];
+            Mono<T> shared = (Mono<T>) inFlight.computeIfAbsent(key, k -> {
+                log.debug("Starting upstream request for {}", k);
+                started[0] = true;
+                // Only drop this request's own entry; a newer request may already have replaced it.
+                AtomicReference<Mono<T>> self = new AtomicReference<>();
+                self.set(request.get()
+                        .doFinally(signal -> inFlight.remove(k, self.get()))
+                        .cache());
+                return self.get();
+            });
+            if (!started[0]) {
+                upstreamMetrics.coalesced(resource(key));
+            }
+            return shared;
+        });
+    }
+
+    /*
+     * Spends a token from the upstream budget on every attempt. 429s feed back into the budget and surface as
+     * UpstreamRateLimitedException; transient failures are retried according to the budget's retry policy. Only for
+     * reads: see budgetedOnce().
+     */
+    private <T> Mono<T> budgeted(Supplier<Mono<T>> request) {
+        return budgetedOnce(request).retryWhen(upstreamBudget.retrySpec());
     }
+
+    /*
+     * budgeted() without retries, for writes. Upstream does not deduplicate requests, so resending one whose response
+     * was lost or timed out would apply it twice; the failure is surfaced to the caller instead.
+     */
+    private <T> Mono<T> budgetedOnce(Supplier<Mono<T>> request) {
+        return Mono.defer(() -> {
+            if (!upstreamBudget.tryAcquire()) {
+                upstreamMetrics.budgetRejected();
+                return Mono.<T>error(new UpstreamRateLimitedException(upstreamBudget.retryAfter()));
+            }
+            return request.get()
+                    .doOnSuccess(ignored -> upstreamBudget.onSuccess())
+                    .onErrorMap(WebClientResponseException.TooManyRequests.class, this::rateLimited);
+        });
+    }
+
+    /*
+     * Streaming variant of budgeted(). Only failures raised before the body starts (status errors, connection
+     * errors) are retryable, so a retry never re-emits elements.
+     */
+    private <T> Flux<T> budgetedMany(Supplier<Flux<T>> request) {
+        return Flux.defer(() -> {
+                    if (!upstreamBudget.tryAcquire()) {
+                        upstreamMetrics.budgetRejected();
+                        return Flux.<T>error(new UpstreamRateLimitedException(upstreamBudget.retryAfter()));
+                    }
+                    return request.get()
+                            .doOnComplete(upstreamBudget::onSuccess)
+                            .onErrorMap(WebClientResponseException.TooManyRequests.class, this::rateLimited);
+                })
+                .retryWhen(upstreamBudget.retrySpec());
+    }
+
+    private UpstreamRateLimitedException rateLimited(WebClientResponseException ex) {
+        upstreamMetrics.rateLimited();
+        upstreamBudget.onRateLimited(parseRetryAfter(ex.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)));
+        return new UpstreamRateLimitedException(upstreamBudget.retryAfter());
+    }
+
+    private Mono<EmployeeListing> fallbackToLastKnown(UpstreamRateLimitedException ex) {
+        EmployeeListing known = lastKnown;
+        if (known == null) {
+            return Mono.error(ex);
+        }
+        log.warn("Upstream budget exhausted, serving last known list of {} employees", known.employees().size());
+        upstreamMetrics.fallbackServed(resource(ALL_EMPLOYEES_KEY));
+        return Mono.just(known);
+    }
+
+    private Mono<Employee> fallbackToLastKnown(String id, UpstreamRateLimitedException ex) {
+        EmployeeListing known = lastKnown;
+        if (known == null) {
+            return Mono.error(ex);
+        }
+        return known.employees().stream()
+                .filter(e -> e.getId() != null && Objects.equals(e.getId().toString(), id))
+                .findFirst()
+                .map(employee -> {
+                    log.warn("Upstream budget exhausted, serving last known employee {}", id);
+                    upstreamMetrics.fallbackServed(resource(EMPLOYEE_KEY_PREFIX));
+                    return Mono.just(employee);
+                })
+                .orElseGet(() -> Mono.error(ex));
+    }
+
+    /*
+     * Counts the bytes of one response body and records the total once it has been read completely.
+     */
+    private Flux<DataBuffer> measured(Flux<DataBuffer> body) {
+        return Flux.defer(() -> {
+            LongAdder bytes = new LongAdder();
+            return body.doOnNext(buffer -> bytes.add(buffer.readableByteCount()))
+                    .doOnComplete(() -> upstreamMetrics.listBytes(bytes.sum()));
+        });
+    }
+
+    /*
+     * Metric tag for a coalescing key, without the id so that tag values stay bounded.
+     */
+    private static String resource(String key) {
+        return key.startsWith(EMPLOYEE_KEY_PREFIX) ? "employee" : key;
+    }
+
+    private static long longHeader(HttpHeaders headers, String name, long defaultValue) {
+        String value = headers.getFirst(name);
+        return value == null ? defaultValue : Long.parseLong(value.trim());
+    }
+
+    private static ListVersion listVersion(HttpHeaders headers) {
+        String epoch = headers.getFirst(EPOCH_HEADER);
+        String version = headers.getFirst(VERSION_HEADER);
+        return epoch == null || version == null ? null : new ListVersion(epoch, Long.parseLong(version.trim()));
+    }
+
+    private static Duration parseRetryAfter(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Duration.ofSeconds(Long.parseLong(value.trim()));
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+
+    private record Page(Flux<Employee> employees, long next, long end) {}
 }
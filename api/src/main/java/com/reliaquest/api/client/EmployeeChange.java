@@ -0,0 +1,16 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.model.Employee;
+import lombok.Data;
+
+@Data
+public class EmployeeChange {
+    private long version;
+    private Type type;
+    private Employee employee;
+
+    public enum Type {
+        CREATED,
+        DELETED
+    }
+}
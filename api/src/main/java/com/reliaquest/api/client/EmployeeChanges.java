@@ -0,0 +1,8 @@
+package com.reliaquest.api.client;
+
+import java.util.List;
+
+/**
+ * Upstream writes made after the version a client asked about, oldest first, and the version they lead up to.
+ */
+public record EmployeeChanges(ListVersion version, List<EmployeeChange> changes) {}
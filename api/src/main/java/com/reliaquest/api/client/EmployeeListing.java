@@ -0,0 +1,11 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.model.Employee;
+
+import java.util.List;
+
+/**
+ * An employee list as read from upstream, with the ETag to revalidate it and the change-log version it was read at.
+ * Either may be null, e.g. for a paged read.
+ */
+public record EmployeeListing(String etag, ListVersion version, List<Employee> employees) {}
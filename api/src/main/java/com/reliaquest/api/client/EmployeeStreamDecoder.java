@@ -0,0 +1,129 @@
+package com.reliaquest.api.client;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.reliaquest.api.model.Employee;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Decodes the mock server's list envelope ({@code {"data": [ ... ], "status": ...}}) into a stream of employees
+ * as the body arrives.
+ * <p>
+ * Bytes are pushed through Jackson's non-blocking parser; only the tokens of the element currently being read are
+ * buffered, and each employee is emitted as soon as its closing brace is seen. Peak memory is therefore one
+ * network chunk plus one employee, however long the list is.
+ */
+@Component
+@RequiredArgsConstructor
+public class EmployeeStreamDecoder {
+
+    private static final String DATA_FIELD = "data";
+
+    private final ObjectMapper objectMapper;
+
+    public Flux<Employee> decode(Flux<DataBuffer> body) {
+        return Flux.defer(() -> {
+            Tokenizer tokenizer = new Tokenizer();
+            return body.concatMapIterable(tokenizer::feed)
+                    .concatWith(Flux.defer(() -> Flux.fromIterable(tokenizer.finish())));
+        });
+    }
+
+    private final class Tokenizer {
+        private final JsonParser parser;
+        private final ByteArrayFeeder feeder;
+
+        private int depth;
+        private boolean dataFieldNext;
+        private boolean inData;
+        private TokenBuffer element;
+
+        Tokenizer() {
+            try {
+                this.parser = objectMapper.getFactory().createNonBlockingByteArrayParser();
+            } catch (IOException ex) {
+                throw new DecodingException("Could not create JSON parser", ex);
+            }
+            this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+        }
+
+        List<Employee> feed(DataBuffer buffer) {
+            try {
+                byte[] bytes = new byte[buffer.readableByteCount()];
+                buffer.read(bytes);
+                feeder.feedInput(bytes, 0, bytes.length);
+                return drain();
+            } catch (IOException ex) {
+                throw new DecodingException("Could not decode employee list", ex);
+            } finally {
+                DataBufferUtils.release(buffer);
+            }
+        }
+
+        List<Employee> finish() {
+            try {
+                feeder.endOfInput();
+                List<Employee> remaining = drain();
+                if (depth != 0) {
+                    throw new DecodingException("Employee list ended before the JSON document was complete");
+                }
+                return remaining;
+            } catch (IOException ex) {
+                throw new DecodingException("Could not decode employee list", ex);
+            } finally {
+                try {
+                    parser.close();
+                } catch (IOException ignored) {
+                    // nothing left to release
+                }
+            }
+        }
+
+        private List<Employee> drain() throws IOException {
+            List<Employee> decoded = new ArrayList<>();
+            JsonToken token;
+            while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+                if (element != null) {
+                    element.copyCurrentEvent(parser);
+                }
+
+                switch (token) {
+                    case START_OBJECT, START_ARRAY -> {
+                        depth++;
+                        if (token == JsonToken.START_ARRAY && dataFieldNext) {
+                            inData = true;
+                        } else if (token == JsonToken.START_OBJECT && inData && depth == 3 && element == null) {
+                            element = new TokenBuffer(objectMapper, false);
+                            element.copyCurrentEvent(parser);
+                        }
+                    }
+                    case END_OBJECT, END_ARRAY -> {
+                        depth--;
+                        if (element != null && depth == 2) {
+                            decoded.add(objectMapper.readValue(element.asParser(objectMapper), Employee.class));
+                            element = null;
+                        } else if (inData && depth == 1) {
+                            inData = false;
+                        }
+                    }
+                    default -> {
+                    }
+                }
+                dataFieldNext = token == JsonToken.FIELD_NAME && depth == 1 && DATA_FIELD.equals(parser.currentName());
+            }
+            return decoded;
+        }
+    }
+}
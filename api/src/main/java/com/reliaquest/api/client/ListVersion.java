@@ -0,0 +1,7 @@
+package com.reliaquest.api.client;
+
+/**
+ * Position of a list in the mock server's change log. Versions restart whenever the server generates its employees
+ * afresh, so they are only comparable within one {@code epoch}.
+ */
+public record ListVersion(String epoch, long version) {}
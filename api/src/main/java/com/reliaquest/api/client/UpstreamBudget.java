@@ -0,0 +1,163 @@
+package com.reliaquest.api.client;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.util.retry.Retry;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Client-side request budget for the mock employee server.
+ * <p>
+ * A token bucket gates every upstream call. The bucket starts at the configured capacity and learns the real
+ * limit from observed 429s: the number of requests the server accepted before rejecting one becomes the new
+ * capacity, and no requests are sent until the server's back-off (its {@code Retry-After}, or a learned cooldown
+ * that doubles whenever it turns out to be too short) has passed. Transient failures of reads are retried with jittered
+ * exponential back-off, each attempt paying for its own token; {@code max-retries} counts the attempts after the first.
+ */
+@Slf4j
+@Component
+public class UpstreamBudget {
+
+    private final Clock clock;
+    private final Duration refillPeriod;
+    private final int maxCapacity;
+    private final Duration maxCooldown;
+    private final Retry retrySpec;
+
+    private int capacity;
+    private double tokens;
+    private Instant lastRefill;
+    private Instant blockedUntil;
+    private Duration cooldown;
+    private int grantedSinceLimited;
+
+    @Autowired
+    public UpstreamBudget(@Value("${employees.upstream.budget.capacity:10}") int capacity,
+                          @Value("${employees.upstream.budget.refill-period:60s}") Duration refillPeriod,
+                          @Value("${employees.upstream.budget.cooldown:30s}") Duration cooldown,
+                          @Value("${employees.upstream.budget.max-cooldown:90s}") Duration maxCooldown,
+                          @Value("${employees.upstream.retry.max-retries:2}") int maxRetries,
+                          @Value("${employees.upstream.retry.min-backoff:100ms}") Duration minBackoff,
+                          @Value("${employees.upstream.retry.max-backoff:1s}") Duration maxBackoff) {
+        this(capacity, refillPeriod, cooldown, maxCooldown,
+                Retry.backoff(maxRetries, minBackoff)
+                        .maxBackoff(maxBackoff)
+                        .jitter(0.5)
+                        .filter(UpstreamBudget::isRetryable)
+                        .onRetryExhaustedThrow((spec, signal) -> signal.failure()),
+                Clock.systemUTC());
+    }
+
+    UpstreamBudget(int capacity,
+                   Duration refillPeriod,
+                   Duration cooldown,
+                   Duration maxCooldown,
+                   Retry retrySpec,
+                   Clock clock) {
+        this.maxCapacity = capacity;
+        this.capacity = capacity;
+        this.tokens = capacity;
+        this.refillPeriod = refillPeriod;
+        this.cooldown = cooldown;
+        this.maxCooldown = maxCooldown;
+        this.retrySpec = retrySpec;
+        this.clock = clock;
+        this.lastRefill = clock.instant();
+        this.blockedUntil = Instant.MIN;
+    }
+
+    public synchronized boolean tryAcquire() {
+        Instant now = clock.instant();
+        if (now.isBefore(blockedUntil)) {
+            return false;
+        }
+        refill(now);
+        if (tokens < 1) {
+            return false;
+        }
+        tokens -= 1;
+        grantedSinceLimited++;
+        return true;
+    }
+
+    /**
+     * Records a 429 from the server. {@code retryAfter} is the server's hint, or {@code null} if it sent none.
+     */
+    public synchronized void onRateLimited(Duration retryAfter) {
+        Instant now = clock.instant();
+        boolean rejectedAfterCooldown = grantedSinceLimited <= 1;
+        if (!rejectedAfterCooldown) {
+            // The rejected request was granted locally but not served upstream.
+            int accepted = grantedSinceLimited - 1;
+            if (accepted < capacity) {
+                log.info("Learned upstream request limit of {} (was {})", accepted, capacity);
+                capacity = accepted;
+            }
+        }
+
+        if (retryAfter != null) {
+            cooldown = retryAfter;
+        } else if (rejectedAfterCooldown) {
+            // Rejected straight after the previous cooldown ended, so it was too short.
+            cooldown = min(cooldown.multipliedBy(2), maxCooldown);
+        }
+        blockedUntil = now.plus(cooldown);
+        tokens = capacity;
+        lastRefill = blockedUntil;
+        grantedSinceLimited = 0;
+        log.warn("Upstream rate limited, pausing requests for {}s", cooldown.toSeconds());
+    }
+
+    public synchronized void onSuccess() {
+        if (grantedSinceLimited > capacity && capacity < maxCapacity) {
+            // The server accepted more than we thought it would.
+            capacity = Math.min(grantedSinceLimited, maxCapacity);
+        }
+    }
+
+    /**
+     * Time until the next request may be attempted.
+     */
+    public synchronized Duration retryAfter() {
+        Instant now = clock.instant();
+        if (now.isBefore(blockedUntil)) {
+            return Duration.between(now, blockedUntil);
+        }
+        refill(now);
+        if (tokens >= 1) {
+            return Duration.ZERO;
+        }
+        return Duration.ofNanos((long) ((1 - tokens) * refillPeriod.toNanos() / capacity));
+    }
+
+    public Retry retrySpec() {
+        return retrySpec;
+    }
+
+    public static boolean isRetryable(Throwable ex) {
+        if (ex instanceof WebClientResponseException response) {
+            return response.getStatusCode().is5xxServerError();
+        }
+        return ex instanceof WebClientRequestException;
+    }
+
+    private void refill(Instant now) {
+        if (!now.isAfter(lastRefill)) {
+            return;
+        }
+        double refilled = (double) Duration.between(lastRefill, now).toNanos() / refillPeriod.toNanos() * capacity;
+        tokens = Math.min(capacity, tokens + refilled);
+        lastRefill = now;
+    }
+
+    private static Duration min(Duration a, Duration b) {
+        return a.compareTo(b) <= 0 ? a : b;
+    }
+}
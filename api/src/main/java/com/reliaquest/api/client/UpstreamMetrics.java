@@ -0,0 +1,78 @@
+package com.reliaquest.api.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+/**
+ * Upstream meters that the WebClient's own {@code http.client.requests} timer cannot see: requests the local budget
+ * refused, 429s, lists revalidated with a 304, change-feed reads that ended in a full resync, answers served from the
+ * last known list, reads that joined a request already in flight, and the size of list responses.
+ */
+@Component
+public class UpstreamMetrics {
+
+    private final MeterRegistry registry;
+    private final Counter rateLimited;
+    private final Counter budgetRejected;
+    private final Counter notModified;
+    private final Counter changeFeedResync;
+    private final DistributionSummary listBytes;
+    private final DistributionSummary listEmployees;
+
+    public UpstreamMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.rateLimited = Counter.builder("employees.upstream.rate.limited")
+                .description("429 responses from the mock server")
+                .register(registry);
+        this.budgetRejected = Counter.builder("employees.upstream.budget.rejected")
+                .description("Upstream calls not sent because the request budget was exhausted")
+                .register(registry);
+        this.notModified = Counter.builder("employees.upstream.not.modified")
+                .description("List reads answered with 304 Not Modified and served from the last decoded list")
+                .register(registry);
+        this.changeFeedResync = Counter.builder("employees.upstream.changes.resync")
+                .description("Change-feed reads that could not be replayed and required a full list read")
+                .register(registry);
+        this.listBytes = DistributionSummary.builder("employees.upstream.list.size")
+                .description("Body size of employee list responses")
+                .baseUnit("bytes")
+                .register(registry);
+        this.listEmployees = DistributionSummary.builder("employees.upstream.list.employees")
+                .description("Employees per list read")
+                .register(registry);
+    }
+
+    void rateLimited() {
+        rateLimited.increment();
+    }
+
+    void budgetRejected() {
+        budgetRejected.increment();
+    }
+
+    void notModified() {
+        notModified.increment();
+    }
+
+    void changeFeedResync() {
+        changeFeedResync.increment();
+    }
+
+    void fallbackServed(String resource) {
+        registry.counter("employees.upstream.fallbacks", "resource", resource).increment();
+    }
+
+    void coalesced(String resource) {
+        registry.counter("employees.upstream.coalesced", "resource", resource).increment();
+    }
+
+    void listBytes(long bytes) {
+        listBytes.record(bytes);
+    }
+
+    void listEmployees(int employees) {
+        listEmployees.record(employees);
+    }
+}
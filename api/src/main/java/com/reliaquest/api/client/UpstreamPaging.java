@@ -0,0 +1,40 @@
+package com.reliaquest.api.client;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * How the employee list is read from the mock server.
+ * <p>
+ * With a page size of zero the list is fetched in one request. Otherwise it is read in cursor windows of that size:
+ * the first page reports where the list ends, and the remaining windows are then requested with up to
+ * {@code concurrency} pages in flight. Every page is a separate upstream call and is charged to the
+ * {@link UpstreamBudget}, so paging only pays off against a server that admits that many requests.
+ */
+@Component
+public class UpstreamPaging {
+
+    private final int pageSize;
+    private final int concurrency;
+
+    public UpstreamPaging(@Value("${employees.upstream.paging.page-size:0}") int pageSize,
+                          @Value("${employees.upstream.paging.concurrency:4}") int concurrency) {
+        if (pageSize < 0 || concurrency < 1) {
+            throw new IllegalArgumentException("page-size must be >= 0 and concurrency >= 1");
+        }
+        this.pageSize = pageSize;
+        this.concurrency = concurrency;
+    }
+
+    public boolean isEnabled() {
+        return pageSize > 0;
+    }
+
+    public int pageSize() {
+        return pageSize;
+    }
+
+    public int concurrency() {
+        return concurrency;
+    }
+}
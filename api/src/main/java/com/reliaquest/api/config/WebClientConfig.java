@@ -1,20 +1,96 @@
 package com.reliaquest.api.config;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
+import io.netty.channel.ChannelOption;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Builds the WebClient used for the mock server on a dedicated Reactor Netty connection pool.
+ * <p>
+ * The pool is bounded and so is the queue of callers waiting for a connection; a caller that waits longer than
+ * {@code pending-acquire-timeout} fails instead of stalling behind a slow upstream. Idle and long-lived connections
+ * are evicted in the background, and pool gauges are published as {@code reactor.netty.connection.provider.*}.
+ * {@code protocols} selects HTTP/1.1, cleartext HTTP/2 ({@code H2C}, prior knowledge), or both (upgrade).
+ */
 @Configuration
 public class WebClientConfig {
 
     @Value("${urls.employee_server_base_url}")
     private String baseUrl;
 
+    @Value("${spring.application.name:employee-api}")
+    private String clientId;
+
+    @Value("${employees.upstream.http.max-connections:50}")
+    private int maxConnections;
+
+    @Value("${employees.upstream.http.pending-acquire-max-count:500}")
+    private int pendingAcquireMaxCount;
+
+    @Value("${employees.upstream.http.pending-acquire-timeout:5s}")
+    private Duration pendingAcquireTimeout;
+
+    @Value("${employees.upstream.http.max-idle-time:30s}")
+    private Duration maxIdleTime;
+
+    @Value("${employees.upstream.http.max-life-time:5m}")
+    private Duration maxLifeTime;
+
+    @Value("${employees.upstream.http.evict-in-background:30s}")
+    private Duration evictInBackground;
+
+    @Value("${employees.upstream.http.connect-timeout:2s}")
+    private Duration connectTimeout;
+
+    @Value("${employees.upstream.http.response-timeout:10s}")
+    private Duration responseTimeout;
+
+    @Value("${employees.upstream.http.compression:true}")
+    private boolean compression;
+
+    @Value("${employees.upstream.http.protocols:HTTP11}")
+    private List<HttpProtocol> protocols;
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider employeeConnectionProvider() {
+        return ConnectionProvider.builder("employee-api")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMaxCount)
+                .pendingAcquireTimeout(pendingAcquireTimeout)
+                .maxIdleTime(maxIdleTime)
+                .maxLifeTime(maxLifeTime)
+                .evictInBackground(evictInBackground)
+                .metrics(true)
+                .build();
+    }
+
+    /*
+     * Boot's auto-configured builder carries the observation that times every upstream call as
+     * http.client.requests; a plain builder is only used when no such bean exists.
+     */
     @Bean
-    public WebClient employeeWebClient() {
-        return WebClient.builder()
+    public WebClient employeeWebClient(ObjectProvider<WebClient.Builder> webClientBuilder,
+                                       ConnectionProvider employeeConnectionProvider) {
+        HttpClient httpClient = HttpClient.create(employeeConnectionProvider)
+                .protocol(protocols.toArray(HttpProtocol[]::new))
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, Math.toIntExact(connectTimeout.toMillis()))
+                .responseTimeout(responseTimeout)
+                .compress(compression);
+
+        return webClientBuilder.getIfAvailable(WebClient::builder)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
                 .baseUrl(baseUrl)
+                .defaultHeader("X-Client-Id", clientId)
                 .build();
     }
 
-}
\ No newline at end of file
+}
@@ -2,12 +2,15 @@ package com.reliaquest.api.controller;
 
 import com.reliaquest.api.exception.BadRequestException;
 import com.reliaquest.api.exception.EmployeeNotFoundException;
+import com.reliaquest.api.model.BatchCreateResult;
 import com.reliaquest.api.model.CreateEmployeeRequest;
 import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.EmployeeBatchService;
 import com.reliaquest.api.service.EmployeeService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -15,12 +18,14 @@ import org.springframework.web.bind.annotation.*;
 import java.util.List;
 
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequiredArgsConstructor
 @Slf4j
 @RequestMapping("/api/v1/employees")
 public class EmployeeController implements IEmployeeController<Employee, CreateEmployeeRequest> {
 
     private final EmployeeService employeeService;
+    private final EmployeeBatchService employeeBatchService;
 
     @GetMapping
     @Override
@@ -127,30 +132,46 @@ public class EmployeeController implements IEmployeeController<Employee, CreateE
                 .body(createdEmployee);
     }
 
+    /**
+     * Entries are validated individually, so one bad entry does not reject the batch. Answers 201 when every entry
+     * was created and 207 with the per-entry results otherwise.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<List<BatchCreateResult>> createEmployees(@RequestBody List<CreateEmployeeRequest> employeeInputs) {
+        log.info("POST /employees/batch - Creating {} employees", employeeInputs.size());
+
+        List<BatchCreateResult> results = employeeBatchService.createEmployees(employeeInputs);
+
+        log.info("Created {} of {} employees", created(results), results.size());
+        return ResponseEntity.status(batchStatus(results)).body(results);
+    }
+
     @DeleteMapping("/{id}")
     @Override
     public ResponseEntity<String> deleteEmployeeById(@PathVariable String id) {
-        log.info("DELETE /employees/{} - Fetching employee details", id);
+        log.info("DELETE /employees/{} - Deleting employee by ID", id);
 
         if (id.trim().isEmpty()) {
             log.warn("Employee ID is empty for deletion");
             throw new BadRequestException("Employee ID cannot be empty");
         }
 
-        Employee employee = employeeService.getEmployeeById(id);
-        if (employee == null) {
+        String deleted = employeeService.deleteEmployeeById(id);
+
+        if (deleted == null) {
+            log.warn("Employee with ID {} not found for deletion", id);
             throw new EmployeeNotFoundException("Employee not found with ID: " + id);
         }
 
-        log.info("Deleting employee with name: {}", employee.getEmployee_name());
-        String deleted = employeeService.deleteEmployeeByName(employee);
+        log.info("Employee deleted with ID: {}, name: {}", id, deleted);
+        return ResponseEntity.ok(deleted);
+    }
 
-        if (deleted == null || deleted.trim().isEmpty()) {
-            log.error("Delete operation failed for employee with ID: {}", id);
-            throw new RuntimeException("Failed to delete employee with ID: " + id);
-        }
+    static long created(List<BatchCreateResult> results) {
+        return results.stream().filter(result -> result.getStatus() == BatchCreateResult.Status.CREATED).count();
+    }
 
-        log.info("Employee deleted with ID: {}", id);
-        return ResponseEntity.ok(deleted);
+    static HttpStatus batchStatus(List<BatchCreateResult> results) {
+        return created(results) == results.size() ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS;
     }
 }
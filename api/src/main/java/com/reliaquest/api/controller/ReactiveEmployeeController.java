@@ -0,0 +1,152 @@
+package com.reliaquest.api.controller;
+
+import com.reliaquest.api.exception.BadRequestException;
+import com.reliaquest.api.exception.EmployeeNotFoundException;
+import com.reliaquest.api.model.BatchCreateResult;
+import com.reliaquest.api.model.CreateEmployeeRequest;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.EmployeeBatchService;
+import com.reliaquest.api.service.EmployeeService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Non-blocking counterpart of {@link EmployeeController}, active when the application runs as a reactive web
+ * application ({@code spring.main.web-application-type=reactive}).
+ * <p>
+ * It serves the same routes, status codes and bodies as the {@link IEmployeeController} contract, but returns
+ * {@link Mono}s composed from the reactive {@link EmployeeService} methods so no request thread waits on the
+ * mock server. It cannot implement {@link IEmployeeController} itself because that interface fixes synchronous
+ * return types.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+@Slf4j
+@RequestMapping("/api/v1/employees")
+public class ReactiveEmployeeController {
+
+    private final EmployeeService employeeService;
+    private final EmployeeBatchService employeeBatchService;
+
+    @GetMapping
+    public Mono<ResponseEntity<List<Employee>>> getAllEmployees() {
+        log.info("GET /employees - Fetching all employees");
+        return employeeService.allEmployees()
+                .switchIfEmpty(Mono.error(() -> new EmployeeNotFoundException("No employees available")))
+                .map(employees -> {
+                    log.info("Returned {} employees", employees.size());
+                    return ResponseEntity.ok(employees);
+                });
+    }
+
+    @GetMapping("/search/{searchString}")
+    public Mono<ResponseEntity<List<Employee>>> getEmployeesByNameSearch(@PathVariable String searchString) {
+        log.info("GET /employees/search/{} - Searching employees by name", searchString);
+
+        if (searchString.trim().isEmpty()) {
+            log.warn("Search string is empty");
+            return Mono.error(new BadRequestException("Search string cannot be empty"));
+        }
+
+        return employeeService.searchByName(searchString)
+                .switchIfEmpty(Mono.error(() ->
+                        new EmployeeNotFoundException("No employees found matching: " + searchString)))
+                .map(employees -> {
+                    log.info("Found {} employees matching '{}'", employees.size(), searchString);
+                    return ResponseEntity.ok(employees);
+                });
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Employee>> getEmployeeById(@PathVariable String id) {
+        log.info("GET /employees/{} - Fetching employee by ID", id);
+
+        if (id.trim().isEmpty()) {
+            log.warn("Employee ID is empty");
+            return Mono.error(new BadRequestException("Employee ID cannot be empty"));
+        }
+
+        return employeeService.employeeById(id)
+                .switchIfEmpty(Mono.error(() -> new EmployeeNotFoundException("Employee not found with ID: " + id)))
+                .map(employee -> {
+                    log.info("Found employee: {}", employee.getEmployee_name());
+                    return ResponseEntity.ok(employee);
+                });
+    }
+
+    @GetMapping("/highestSalary")
+    public Mono<ResponseEntity<Integer>> getHighestSalaryOfEmployees() {
+        log.info("GET /employees/highestSalary - Fetching highest salary");
+        return employeeService.highestSalary()
+                .filter(highestSalary -> highestSalary > 0)
+                .switchIfEmpty(Mono.error(() ->
+                        new EmployeeNotFoundException("No employees found to calculate highest salary")))
+                .map(highestSalary -> {
+                    log.info("Highest salary found: {}", highestSalary);
+                    return ResponseEntity.ok(highestSalary);
+                });
+    }
+
+    @GetMapping("/topTenHighestEarningEmployeeNames")
+    public Mono<ResponseEntity<List<String>>> getTopTenHighestEarningEmployeeNames() {
+        log.info("GET /employees/topTenHighestEarningEmployeeNames - Fetching top 10 earning employee names");
+        return employeeService.top10HighestEarningEmployeeNames()
+                .filter(topEarners -> !topEarners.isEmpty())
+                .switchIfEmpty(Mono.error(() ->
+                        new EmployeeNotFoundException("No employees found to calculate top earners")))
+                .map(topEarners -> {
+                    log.info("Returned top 10 highest earning employee names");
+                    return ResponseEntity.ok(topEarners);
+                });
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<Employee>> createEmployee(@Valid @RequestBody CreateEmployeeRequest employeeInput) {
+        log.info("POST /employees - Creating employee with name: {}", employeeInput.getName());
+        return employeeService.create(employeeInput)
+                .switchIfEmpty(Mono.error(() -> new RuntimeException("Failed to create employee")))
+                .map(createdEmployee -> {
+                    log.info("Employee created with ID: {}", createdEmployee.getId());
+                    return ResponseEntity.status(HttpStatus.CREATED)
+                            .header("Location", "/api/v1/employees/" + createdEmployee.getId())
+                            .body(createdEmployee);
+                });
+    }
+
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<List<BatchCreateResult>>> createEmployees(
+            @RequestBody List<CreateEmployeeRequest> employeeInputs) {
+        log.info("POST /employees/batch - Creating {} employees", employeeInputs.size());
+        return employeeBatchService.createAll(employeeInputs)
+                .map(results -> {
+                    log.info("Created {} of {} employees", EmployeeController.created(results), results.size());
+                    return ResponseEntity.status(EmployeeController.batchStatus(results)).body(results);
+                });
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<String>> deleteEmployeeById(@PathVariable String id) {
+        log.info("DELETE /employees/{} - Deleting employee by ID", id);
+
+        if (id.trim().isEmpty()) {
+            log.warn("Employee ID is empty for deletion");
+            return Mono.error(new BadRequestException("Employee ID cannot be empty"));
+        }
+
+        return employeeService.deleteById(id)
+                .switchIfEmpty(Mono.error(() -> new EmployeeNotFoundException("Employee not found with ID: " + id)))
+                .map(deleted -> {
+                    log.info("Employee deleted with ID: {}, name: {}", id, deleted);
+                    return ResponseEntity.ok(deleted);
+                });
+    }
+}
@@ -1,6 +1,8 @@
 package com.reliaquest.api.exception;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.ErrorResponseException;
@@ -15,6 +17,7 @@ import jakarta.validation.ConstraintViolationException;
 
 @Slf4j
 @RestControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class GlobalExceptionHandler {
 
     @ExceptionHandler(EmployeeNotFoundException.class)
@@ -69,6 +72,15 @@ public class GlobalExceptionHandler {
                 .body(APIException.of(status, message, req.getDescription(false)));
     }
 
+    @ExceptionHandler(UpstreamRateLimitedException.class)
+    public ResponseEntity<APIException> handleUpstreamRateLimited(UpstreamRateLimitedException ex, WebRequest req) {
+        log.warn("Upstream rate limited: {}", ex.getMessage());
+        HttpStatus status = HttpStatus.SERVICE_UNAVAILABLE;
+        return ResponseEntity.status(status)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, ex.getRetryAfter().toSeconds())))
+                .body(APIException.of(status, "Upstream service is rate limiting requests", req.getDescription(false)));
+    }
+
     @ExceptionHandler(WebClientResponseException.class)
     public ResponseEntity<APIException> handleDownstream(WebClientResponseException ex, WebRequest req) {
         log.error("Downstream API error {} {}: {}", ex.getStatusCode(), ex.getStatusText(), ex.getResponseBodyAsString());
@@ -0,0 +1,84 @@
+package com.reliaquest.api.exception;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.ServerWebInputException;
+
+/**
+ * Reactive counterpart of {@link GlobalExceptionHandler}, producing the same {@link APIException} bodies when the
+ * application runs on the reactive stack.
+ */
+@Slf4j
+@RestControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveExceptionHandler {
+
+    @ExceptionHandler(EmployeeNotFoundException.class)
+    public ResponseEntity<APIException> handleEmployeeNotFound(EmployeeNotFoundException ex, ServerWebExchange exchange) {
+        log.warn("Not found: {}", ex.getMessage());
+        return respond(HttpStatus.NOT_FOUND, ex.getMessage(), exchange);
+    }
+
+    @ExceptionHandler(BadRequestException.class)
+    public ResponseEntity<APIException> handleBadRequest(BadRequestException ex, ServerWebExchange exchange) {
+        log.warn("Bad request: {}", ex.getMessage());
+        return respond(HttpStatus.BAD_REQUEST, ex.getMessage(), exchange);
+    }
+
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<APIException> handleValidation(WebExchangeBindException ex, ServerWebExchange exchange) {
+        String message = ex.getBindingResult().getAllErrors().stream()
+                .map(err -> err.getDefaultMessage())
+                .findFirst()
+                .orElse("Validation failed");
+        log.warn("Validation error: {}", message);
+        return respond(HttpStatus.BAD_REQUEST, message, exchange);
+    }
+
+    @ExceptionHandler(ServerWebInputException.class)
+    public ResponseEntity<APIException> handleInput(ServerWebInputException ex, ServerWebExchange exchange) {
+        log.warn("Invalid input: {}", ex.getReason());
+        return respond(HttpStatus.BAD_REQUEST, ex.getReason(), exchange);
+    }
+
+    @ExceptionHandler(UpstreamRateLimitedException.class)
+    public ResponseEntity<APIException> handleUpstreamRateLimited(UpstreamRateLimitedException ex,
+                                                                  ServerWebExchange exchange) {
+        log.warn("Upstream rate limited: {}", ex.getMessage());
+        HttpStatus status = HttpStatus.SERVICE_UNAVAILABLE;
+        return ResponseEntity.status(status)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, ex.getRetryAfter().toSeconds())))
+                .body(APIException.of(status, "Upstream service is rate limiting requests", describe(exchange)));
+    }
+
+    @ExceptionHandler(WebClientResponseException.class)
+    public ResponseEntity<APIException> handleDownstream(WebClientResponseException ex, ServerWebExchange exchange) {
+        log.error("Downstream API error {} {}: {}", ex.getStatusCode(), ex.getStatusText(), ex.getResponseBodyAsString());
+        return respond(HttpStatus.BAD_GATEWAY, "Upstream service error", exchange);
+    }
+
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<APIException> handleAll(Exception ex, ServerWebExchange exchange) {
+        log.error("Unexpected error occoured", ex);
+        return respond(HttpStatus.INTERNAL_SERVER_ERROR, "Internal server error", exchange);
+    }
+
+    private static ResponseEntity<APIException> respond(HttpStatus status, String message, ServerWebExchange exchange) {
+        return ResponseEntity.status(status).body(APIException.of(status, message, describe(exchange)));
+    }
+
+    /*
+     * Same format as WebRequest#getDescription(false) on the servlet stack.
+     */
+    private static String describe(ServerWebExchange exchange) {
+        return "uri=" + exchange.getRequest().getPath().value();
+    }
+}
@@ -0,0 +1,15 @@
+package com.reliaquest.api.exception;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+@Getter
+public class UpstreamRateLimitedException extends RuntimeException {
+    private final Duration retryAfter;
+
+    public UpstreamRateLimitedException(Duration retryAfter) {
+        super("Upstream request budget exhausted, retry after " + retryAfter.toSeconds() + "s");
+        this.retryAfter = retryAfter;
+    }
+}
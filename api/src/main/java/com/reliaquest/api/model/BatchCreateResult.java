@@ -0,0 +1,49 @@
+package com.reliaquest.api.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Outcome of one entry of a batch create, identified by its position in the request.
+ */
+@Data
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchCreateResult {
+
+    public enum Status {
+        /** The employee was created upstream. */
+        CREATED,
+        /** The entry failed validation and was never sent upstream. */
+        INVALID,
+        /** The entry was valid but the upstream call carrying it failed; it may be retried. */
+        FAILED,
+        /**
+         * The upstream call carrying the entry was sent but its answer was lost, so the employee may have been
+         * created. Check before retrying it.
+         */
+        UNKNOWN
+    }
+
+    private int index;
+    private Status status;
+    private Employee employee;
+    private String error;
+
+    public static BatchCreateResult created(int index, Employee employee) {
+        return new BatchCreateResult(index, Status.CREATED, employee, null);
+    }
+
+    public static BatchCreateResult invalid(int index, String error) {
+        return new BatchCreateResult(index, Status.INVALID, null, error);
+    }
+
+    public static BatchCreateResult failed(int index, String error) {
+        return new BatchCreateResult(index, Status.FAILED, null, error);
+    }
+
+    public static BatchCreateResult unknown(int index, String error) {
+        return new BatchCreateResult(index, Status.UNKNOWN, null, error);
+    }
+}
@@ -0,0 +1,179 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.client.EmployeeApiClient;
+import com.reliaquest.api.exception.BadRequestException;
+import com.reliaquest.api.exception.UpstreamRateLimitedException;
+import com.reliaquest.api.model.BatchCreateResult;
+import com.reliaquest.api.model.CreateEmployeeRequest;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.ConnectException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Creates employees in bulk.
+ * <p>
+ * The whole batch is validated up front and invalid entries are reported without being sent. The valid ones are
+ * grouped into upstream batch requests of {@code chunk-size} entries, with at most {@code concurrency} of them in
+ * flight. Every request goes through the upstream budget like any other call, so once the budget runs out the
+ * remaining chunks fail fast instead of adding to the 429s. Each entry gets its own result, in request order.
+ * <p>
+ * A chunk is sent at most once. When its answer is lost the entries are reported as {@code UNKNOWN} rather than
+ * resent, since upstream would create them a second time.
+ */
+@Slf4j
+@Service
+public class EmployeeBatchService {
+
+    private final EmployeeApiClient employeeApiClient;
+    private final EmployeeSnapshotCache employeeSnapshotCache;
+    private final Validator validator;
+    private final int maxSize;
+    private final int chunkSize;
+    private final int concurrency;
+
+    @Autowired
+    public EmployeeBatchService(EmployeeApiClient employeeApiClient,
+                                EmployeeSnapshotCache employeeSnapshotCache,
+                                Validator validator,
+                                @Value("${employees.batch.max-size:10000}") int maxSize,
+                                @Value("${employees.batch.chunk-size:100}") int chunkSize,
+                                @Value("${employees.batch.concurrency:4}") int concurrency) {
+        if (maxSize < 1 || chunkSize < 1 || concurrency < 1) {
+            throw new IllegalArgumentException("max-size, chunk-size and concurrency must be >= 1");
+        }
+        this.employeeApiClient = employeeApiClient;
+        this.employeeSnapshotCache = employeeSnapshotCache;
+        this.validator = validator;
+        this.maxSize = maxSize;
+        this.chunkSize = chunkSize;
+        this.concurrency = concurrency;
+    }
+
+    public List<BatchCreateResult> createEmployees(List<CreateEmployeeRequest> requests) {
+        return createAll(requests).block();
+    }
+
+    public Mono<List<BatchCreateResult>> createAll(List<CreateEmployeeRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            return Mono.error(new BadRequestException("Batch must contain at least one employee"));
+        }
+        if (requests.size() > maxSize) {
+            return Mono.error(new BadRequestException("Batch must not contain more than " + maxSize + " employees"));
+        }
+
+        return Mono.defer(() -> {
+            BatchCreateResult[] results = new BatchCreateResult[requests.size()];
+            List<Integer> valid = new ArrayList<>(requests.size());
+            for (int i = 0; i < requests.size(); i++) {
+                String error = validate(requests.get(i));
+                if (error == null) {
+                    valid.add(i);
+                } else {
+                    results[i] = BatchCreateResult.invalid(i, error);
+                }
+            }
+            log.debug("Creating {} of {} employees in chunks of {}", valid.size(), requests.size(), chunkSize);
+
+            return Flux.fromIterable(chunks(valid))
+                    .flatMap(chunk -> createChunk(requests, chunk), concurrency)
+                    .doOnNext(chunkResults -> chunkResults.forEach(result -> results[result.getIndex()] = result))
+                    .then(Mono.fromSupplier(() -> Arrays.asList(results)));
+        });
+    }
+
+    private String validate(CreateEmployeeRequest request) {
+        if (request == null) {
+            return "Employee must not be null";
+        }
+        return validator.validate(request).stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .reduce((first, second) -> first + "; " + second)
+                .orElse(null);
+    }
+
+    private List<List<Integer>> chunks(List<Integer> indexes) {
+        List<List<Integer>> chunks = new ArrayList<>();
+        for (int from = 0; from < indexes.size(); from += chunkSize) {
+            chunks.add(indexes.subList(from, Math.min(indexes.size(), from + chunkSize)));
+        }
+        return chunks;
+    }
+
+    /*
+     * Upstream creates a chunk all or nothing, so a failure marks every entry in it as failed, or as unknown when the
+     * chunk may have been created.
+     */
+    private Mono<List<BatchCreateResult>> createChunk(List<CreateEmployeeRequest> requests, List<Integer> indexes) {
+        List<CreateEmployeeRequest> chunk = indexes.stream().map(requests::get).toList();
+        return employeeApiClient.createAll(chunk)
+                .filter(employees -> employees.size() == indexes.size())
+                .switchIfEmpty(Mono.error(IncompleteBatchException::new))
+                .map(employees -> {
+                    employeeSnapshotCache.applyCreated(employees);
+                    List<BatchCreateResult> results = new ArrayList<>(employees.size());
+                    for (int i = 0; i < employees.size(); i++) {
+                        results.add(BatchCreateResult.created(indexes.get(i), employees.get(i)));
+                    }
+                    return results;
+                })
+                .onErrorResume(ex -> {
+                    String error = describe(ex);
+                    boolean unknown = isOutcomeUnknown(ex);
+                    log.warn("Failed to create a chunk of {} employees{}: {}", indexes.size(),
+                            unknown ? ", which may have been created" : "", error);
+                    return Mono.just(indexes.stream()
+                            .map(index -> unknown
+                                    ? BatchCreateResult.unknown(index, error)
+                                    : BatchCreateResult.failed(index, error))
+                            .toList());
+                });
+    }
+
+    /*
+     * A refused connection never reached upstream, and any answer, even an error, tells us upstream did not create the
+     * chunk. Other request failures and timeouts may have happened after upstream created it.
+     */
+    private static boolean isOutcomeUnknown(Throwable ex) {
+        if (ex instanceof WebClientRequestException request) {
+            return !(request.getCause() instanceof ConnectException);
+        }
+        return ex instanceof TimeoutException || ex instanceof IncompleteBatchException;
+    }
+
+    private static String describe(Throwable ex) {
+        if (ex instanceof IncompleteBatchException) {
+            return ex.getMessage();
+        }
+        if (isOutcomeUnknown(ex)) {
+            return "No answer from upstream service; check whether the employees exist before retrying";
+        }
+        if (ex instanceof UpstreamRateLimitedException rateLimited) {
+            return "Upstream service is rate limiting requests, retry after "
+                    + Math.max(1, rateLimited.getRetryAfter().toSeconds()) + "s";
+        }
+        if (ex instanceof WebClientResponseException response) {
+            return "Upstream service error " + response.getStatusCode().value();
+        }
+        return "Upstream service error";
+    }
+
+    private static final class IncompleteBatchException extends IllegalStateException {
+        IncompleteBatchException() {
+            super("Upstream returned an incomplete batch");
+        }
+    }
+}
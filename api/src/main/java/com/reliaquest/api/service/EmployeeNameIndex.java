@@ -0,0 +1,202 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.model.Employee;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+/**
+ * Trigram inverted index over lower-cased employee names, kept in step with the employee snapshot.
+ * <p>
+ * Names are normalized once when indexed. A search looks up the posting lists of the fragment's trigrams,
+ * intersects them starting from the shortest, and only then verifies the remaining candidates with a substring
+ * check. Fragments shorter than a trigram fall back to scanning the pre-normalized names. Results keep the order
+ * in which employees appeared in the snapshot.
+ */
+@Component
+public class EmployeeNameIndex implements EmployeeSnapshotListener {
+
+    private static final int GRAM_LENGTH = 3;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private State state = new State();
+
+    public List<Employee> search(String nameFragment) {
+        String needle = normalize(nameFragment);
+
+        lock.readLock().lock();
+        try {
+            List<Entry> matches = needle.length() < GRAM_LENGTH ? state.scan(needle) : state.lookup(needle);
+            matches.sort(Comparator.comparingLong(Entry::ordinal));
+
+            List<Employee> employees = new ArrayList<>(matches.size());
+            matches.forEach(entry -> employees.add(entry.employee()));
+            return employees;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Case-insensitive name match for employees that are not in the index, such as a streamed list. The fragment
+     * is normalized once and names are compared in place, without lower-cased copies.
+     */
+    public static Predicate<Employee> nameContains(String nameFragment) {
+        String needle = normalize(nameFragment);
+        return employee -> {
+            String name = employee.getEmployee_name();
+            if (name == null) {
+                return false;
+            }
+            for (int i = 0, last = name.length() - needle.length(); i <= last; i++) {
+                if (name.regionMatches(true, i, needle, 0, needle.length())) {
+                    return true;
+                }
+            }
+            return false;
+        };
+    }
+
+    @Override
+    public void onSnapshot(List<Employee> employees) {
+        State rebuilt = new State();
+        employees.forEach(rebuilt::add);
+
+        lock.writeLock().lock();
+        try {
+            state = rebuilt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onCreated(Employee employee) {
+        lock.writeLock().lock();
+        try {
+            state.add(employee);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onDeleted(Employee employee) {
+        lock.writeLock().lock();
+        try {
+            state.remove(employee.getId());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static String normalize(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    private static long trigram(String s, int start) {
+        return ((long) s.charAt(start) << 32) | ((long) s.charAt(start + 1) << 16) | s.charAt(start + 2);
+    }
+
+    private static long[] trigrams(String s) {
+        long[] grams = new long[s.length() - GRAM_LENGTH + 1];
+        for (int i = 0; i < grams.length; i++) {
+            grams[i] = trigram(s, i);
+        }
+        return Arrays.stream(grams).distinct().toArray();
+    }
+
+    private record Entry(Employee employee, String normalizedName, long ordinal) {}
+
+    private static final class State {
+        private final Map<UUID, Entry> entries = new HashMap<>();
+        private final Map<Long, Set<UUID>> postings = new HashMap<>();
+        private long nextOrdinal;
+
+        void add(Employee employee) {
+            if (employee.getId() == null || employee.getEmployee_name() == null) {
+                return;
+            }
+            remove(employee.getId());
+
+            Entry entry = new Entry(employee, normalize(employee.getEmployee_name()), nextOrdinal++);
+            entries.put(employee.getId(), entry);
+            if (entry.normalizedName().length() >= GRAM_LENGTH) {
+                for (long gram : trigrams(entry.normalizedName())) {
+                    postings.computeIfAbsent(gram, ignored -> new HashSet<>()).add(employee.getId());
+                }
+            }
+        }
+
+        void remove(UUID id) {
+            Entry entry = id == null ? null : entries.remove(id);
+            if (entry == null || entry.normalizedName().length() < GRAM_LENGTH) {
+                return;
+            }
+            for (long gram : trigrams(entry.normalizedName())) {
+                Set<UUID> ids = postings.get(gram);
+                if (ids != null) {
+                    ids.remove(id);
+                    if (ids.isEmpty()) {
+                        postings.remove(gram);
+                    }
+                }
+            }
+        }
+
+        List<Entry> lookup(String needle) {
+            long[] grams = trigrams(needle);
+            List<Set<UUID>> lists = new ArrayList<>(grams.length);
+            for (long gram : grams) {
+                Set<UUID> ids = postings.get(gram);
+                if (ids == null) {
+                    return new ArrayList<>();
+                }
+                lists.add(ids);
+            }
+            lists.sort(Comparator.comparingInt(Set::size));
+
+            List<Entry> matches = new ArrayList<>();
+            for (UUID id : lists.get(0)) {
+                if (containedInAll(id, lists)) {
+                    Entry entry = entries.get(id);
+                    if (entry.normalizedName().contains(needle)) {
+                        matches.add(entry);
+                    }
+                }
+            }
+            return matches;
+        }
+
+        List<Entry> scan(String needle) {
+            List<Entry> matches = new ArrayList<>();
+            for (Entry entry : entries.values()) {
+                if (entry.normalizedName().contains(needle)) {
+                    matches.add(entry);
+                }
+            }
+            return matches;
+        }
+
+        private static boolean containedInAll(UUID id, List<Set<UUID>> lists) {
+            for (int i = 1; i < lists.size(); i++) {
+                if (!lists.get(i).contains(id)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -1,56 +1,124 @@
 package com.reliaquest.api.service;
 
 import com.reliaquest.api.client.EmployeeApiClient;
+import com.reliaquest.api.client.EmployeeListing;
+import com.reliaquest.api.exception.BadRequestException;
 import com.reliaquest.api.model.Employee;
 import com.reliaquest.api.model.CreateEmployeeRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
-import java.util.Comparator;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.UUID;
 
+/**
+ * Employee operations in two flavours: reactive methods that compose the upstream calls without blocking, and
+ * blocking wrappers around them for the servlet stack.
+ * <p>
+ * With the snapshot cache enabled, reads are answered from the cached snapshot and its derived structures. With
+ * it disabled, search, highest salary and top earners are computed on the fly over the upstream list, read through
+ * {@link EmployeeApiClient#listing()} so that concurrent reads still share one upstream call and a rate-limited read
+ * still falls back to the last known list.
+ */
 @Service
 @RequiredArgsConstructor
 public class EmployeeService {
 
+    private static final int TOP_EARNERS_LIMIT = 10;
+
     private final EmployeeApiClient employeeApiClient;
+    private final EmployeeSnapshotCache employeeSnapshotCache;
+    private final SalaryAggregates salaryAggregates;
+    private final EmployeeNameIndex employeeNameIndex;
 
     public List<Employee> getAllEmployees() {
-        return employeeApiClient.getAllEmployees();
+        return allEmployees().block();
     }
 
     public Employee getEmployeeById(String id) {
-        return employeeApiClient.getEmployeeById(id);
+        return employeeById(id).block();
     }
 
     public List<Employee> searchEmployeesByName(String nameFragment) {
-        return employeeApiClient.getAllEmployees().stream()
-                .filter(e -> e.getEmployee_name() != null &&
-                        e.getEmployee_name().toLowerCase().contains(nameFragment.toLowerCase()))
-                .collect(Collectors.toList());
+        return searchByName(nameFragment).block();
     }
 
     public int getHighestSalary() {
-        return employeeApiClient.getAllEmployees().stream()
-                .mapToInt(Employee::getEmployee_salary)
-                .max()
-                .orElse(0);
+        return highestSalary().block();
     }
 
     public List<String> getTop10HighestEarningEmployeeNames() {
-        return employeeApiClient.getAllEmployees().stream()
-                .sorted(Comparator.comparingInt(Employee::getEmployee_salary).reversed())
-                .limit(10)
-                .map(Employee::getEmployee_name)
-                .collect(Collectors.toList());
+        return top10HighestEarningEmployeeNames().block();
     }
 
     public Employee createEmployee(CreateEmployeeRequest request) {
-        return employeeApiClient.createEmployee(request);
+        return create(request).block();
+    }
+
+    public String deleteEmployeeById(String id) {
+        return deleteById(id).block();
+    }
+
+    public Mono<List<Employee>> allEmployees() {
+        return employeeSnapshotCache.employees();
+    }
+
+    public Mono<Employee> employeeById(String id) {
+        return employeeApiClient.employeeById(id);
+    }
+
+    public Mono<List<Employee>> searchByName(String nameFragment) {
+        if (!employeeSnapshotCache.isEnabled()) {
+            return upstreamEmployees()
+                    .filter(EmployeeNameIndex.nameContains(nameFragment))
+                    .collectList();
+        }
+        return employeeSnapshotCache.synced()
+                .then(Mono.fromSupplier(() -> employeeNameIndex.search(nameFragment)));
+    }
+
+    public Mono<Integer> highestSalary() {
+        if (!employeeSnapshotCache.isEnabled()) {
+            return SalaryAggregates.highestSalary(upstreamEmployees());
+        }
+        return employeeSnapshotCache.synced()
+                .then(Mono.fromSupplier(salaryAggregates::getHighestSalary));
+    }
+
+    /**
+     * Names of the ten highest earners, highest first. Employees on the same salary keep their order in the list.
+     */
+    public Mono<List<String>> top10HighestEarningEmployeeNames() {
+        if (!employeeSnapshotCache.isEnabled()) {
+            return SalaryAggregates.topEarnerNames(upstreamEmployees(), TOP_EARNERS_LIMIT);
+        }
+        return employeeSnapshotCache.synced()
+                .then(Mono.fromSupplier(() -> salaryAggregates.getTopEarnerNames(TOP_EARNERS_LIMIT)));
+    }
+
+    public Mono<Employee> create(CreateEmployeeRequest request) {
+        return employeeApiClient.create(request)
+                .doOnNext(employeeSnapshotCache::applyCreated);
+    }
+
+    /**
+     * Deletes by id with a single upstream call, which also returns the deleted employee, so the name comes back
+     * without a lookup and an employee sharing the name is never touched. Completes empty when no employee has the id.
+     */
+    public Mono<String> deleteById(String id) {
+        try {
+            UUID.fromString(id);
+        } catch (IllegalArgumentException ex) {
+            return Mono.error(new BadRequestException("Invalid employee ID: " + id));
+        }
+        return employeeApiClient.deleteById(id)
+                .doOnNext(employeeSnapshotCache::applyDeleted)
+                .map(Employee::getEmployee_name);
     }
 
-    public String deleteEmployeeByName(Employee emp) {
-        return employeeApiClient.deleteEmployeeByName(emp);
+    private Flux<Employee> upstreamEmployees() {
+        return employeeApiClient.listing().flatMapIterable(EmployeeListing::employees);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,385 @@
+package com.reliaquest.api.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.client.EmployeeApiClient;
+import com.reliaquest.api.client.EmployeeChange;
+import com.reliaquest.api.client.EmployeeChanges;
+import com.reliaquest.api.client.EmployeeListing;
+import com.reliaquest.api.client.ListVersion;
+import com.reliaquest.api.model.Employee;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * In-memory snapshot of the upstream employee list.
+ * <p>
+ * The first read loads the list synchronously. Once the snapshot is older than the configured TTL it is still
+ * served, while a single background refresh fetches a new one (stale-while-revalidate). Local creates and deletes
+ * are applied to the snapshot directly so the next read sees them. Every change is forwarded, in order, to the
+ * registered {@link EmployeeSnapshotListener}s. When disabled every read goes straight to the upstream API and
+ * listeners are never notified.
+ * <p>
+ * With the change feed enabled, a refresh asks upstream only for the writes made since the snapshot's version and
+ * replays them as creates and deletes, so its cost follows the rate of change rather than the size of the list.
+ * The full list is read again only when upstream can no longer replay that far back, or the snapshot has no version.
+ * <p>
+ * With a warm-start file configured, every snapshot synced from upstream is also saved to it in the background, and
+ * once more on shutdown. At startup a saved snapshot younger than the configured maximum age is loaded as already
+ * expired: reads are served from it at once while a background refresh catches up from its version, so a restart does
+ * not send every read upstream together.
+ */
+@Slf4j
+@Component
+public class EmployeeSnapshotCache {
+
+    private final EmployeeApiClient employeeApiClient;
+    private final List<EmployeeSnapshotListener> listeners;
+    private final boolean enabled;
+    private final boolean changeFeed;
+    private final Duration ttl;
+    private final Clock clock;
+    private final EmployeeSnapshotFile snapshotFile;
+
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private final AtomicBoolean saving = new AtomicBoolean();
+    private final AtomicLong generation = new AtomicLong();
+    private final Object saveLock = new Object();
+    private Snapshot saved;
+
+    @Autowired
+    public EmployeeSnapshotCache(EmployeeApiClient employeeApiClient,
+                                 List<EmployeeSnapshotListener> listeners,
+                                 @Value("${employees.cache.enabled:false}") boolean enabled,
+                                 @Value("${employees.cache.ttl:30s}") Duration ttl,
+                                 @Value("${employees.cache.change-feed:true}") boolean changeFeed,
+                                 @Value("${employees.cache.warm-start-file:}") String warmStartFile,
+                                 @Value("${employees.cache.warm-start-max-age:1h}") Duration warmStartMaxAge,
+                                 ObjectMapper objectMapper) {
+        this(employeeApiClient, listeners, enabled, ttl, changeFeed,
+                warmStartFile.isBlank()
+                        ? null
+                        : new EmployeeSnapshotFile(
+                                objectMapper, Path.of(warmStartFile), warmStartMaxAge, Clock.systemUTC()),
+                Clock.systemUTC());
+    }
+
+    EmployeeSnapshotCache(EmployeeApiClient employeeApiClient,
+                          List<EmployeeSnapshotListener> listeners,
+                          boolean enabled,
+                          Duration ttl,
+                          Clock clock) {
+        this(employeeApiClient, listeners, enabled, ttl, true, clock);
+    }
+
+    EmployeeSnapshotCache(EmployeeApiClient employeeApiClient,
+                          List<EmployeeSnapshotListener> listeners,
+                          boolean enabled,
+                          Duration ttl,
+                          boolean changeFeed,
+                          Clock clock) {
+        this(employeeApiClient, listeners, enabled, ttl, changeFeed, null, clock);
+    }
+
+    EmployeeSnapshotCache(EmployeeApiClient employeeApiClient,
+                          List<EmployeeSnapshotListener> listeners,
+                          boolean enabled,
+                          Duration ttl,
+                          boolean changeFeed,
+                          EmployeeSnapshotFile snapshotFile,
+                          Clock clock) {
+        this.employeeApiClient = employeeApiClient;
+        this.listeners = List.copyOf(listeners);
+        this.enabled = enabled;
+        this.changeFeed = changeFeed;
+        this.ttl = ttl;
+        this.clock = clock;
+        this.snapshotFile = snapshotFile;
+    }
+
+    /**
+     * Loads the snapshot saved by a previous run, if any, and starts syncing it with upstream in the background.
+     */
+    @PostConstruct
+    public void warmStart() {
+        if (!enabled || snapshotFile == null) {
+            return;
+        }
+        synchronized (this) {
+            if (snapshot.get() != null) {
+                return;
+            }
+            EmployeeListing listing = snapshotFile.read().orElse(null);
+            if (listing == null) {
+                return;
+            }
+            List<Employee> copy = List.copyOf(listing.employees());
+            Snapshot loaded = new Snapshot(copy, Instant.EPOCH, null, listing.version());
+            snapshot.set(loaded);
+            synchronized (saveLock) {
+                saved = loaded;
+            }
+            listeners.forEach(listener -> listener.onSnapshot(copy));
+            log.info("Warm-started employee snapshot with {} employees from {}", copy.size(), snapshotFile.path());
+        }
+        refreshInBackground();
+    }
+
+    /**
+     * Saves the current snapshot, including local writes made since the last upstream sync, for the next run.
+     */
+    @PreDestroy
+    public void close() {
+        if (enabled && snapshotFile != null) {
+            save();
+        }
+    }
+
+    public List<Employee> getEmployees() {
+        return employees().block();
+    }
+
+    public Mono<List<Employee>> employees() {
+        if (!enabled) {
+            return employeeApiClient.listing().map(EmployeeListing::employees);
+        }
+
+        return Mono.defer(() -> {
+            Snapshot current = snapshot.get();
+            if (current == null) {
+                log.debug("No employee snapshot cached, loading from upstream");
+                return load();
+            }
+
+            if (current.isExpired(clock.instant(), ttl)) {
+                refreshInBackground();
+            }
+            return Mono.just(current.employees());
+        });
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Completes once the snapshot, and with it every listener, is up to date, without handing out the list.
+     */
+    public Mono<Void> synced() {
+        return employees().then();
+    }
+
+    public synchronized void applyCreated(Employee employee) {
+        Snapshot current = snapshot.get();
+        if (current == null) {
+            return;
+        }
+        generation.incrementAndGet();
+
+        List<Employee> employees = new ArrayList<>(current.employees().size() + 1);
+        employees.addAll(current.employees());
+        employees.add(employee);
+        snapshot.set(new Snapshot(List.copyOf(employees), current.fetchedAt(), null, current.version()));
+        listeners.forEach(listener -> listener.onCreated(employee));
+    }
+
+    /**
+     * Applies a batch of creates with a single copy of the snapshot.
+     */
+    public synchronized void applyCreated(List<Employee> created) {
+        Snapshot current = snapshot.get();
+        if (current == null || created.isEmpty()) {
+            return;
+        }
+        generation.incrementAndGet();
+
+        List<Employee> employees = new ArrayList<>(current.employees().size() + created.size());
+        employees.addAll(current.employees());
+        employees.addAll(created);
+        snapshot.set(new Snapshot(List.copyOf(employees), current.fetchedAt(), null, current.version()));
+        created.forEach(employee -> listeners.forEach(listener -> listener.onCreated(employee)));
+    }
+
+    public synchronized void applyDeleted(Employee employee) {
+        Snapshot current = snapshot.get();
+        if (current == null) {
+            return;
+        }
+        generation.incrementAndGet();
+
+        List<Employee> employees = current.employees().stream()
+                .filter(e -> !Objects.equals(e.getId(), employee.getId()))
+                .toList();
+        snapshot.set(new Snapshot(employees, current.fetchedAt(), null, current.version()));
+        listeners.forEach(listener -> listener.onDeleted(employee));
+    }
+
+    public synchronized void invalidate() {
+        generation.incrementAndGet();
+        snapshot.set(null);
+        log.debug("Employee snapshot invalidated");
+    }
+
+    private Mono<List<Employee>> load() {
+        return reload().map(EmployeeListing::employees);
+    }
+
+    private Mono<EmployeeListing> reload() {
+        return Mono.defer(() -> {
+            long expectedGeneration = generation.get();
+            return employeeApiClient.listing()
+                    .doOnNext(listing -> publish(expectedGeneration, listing));
+        });
+    }
+
+    private void refreshInBackground() {
+        if (!refreshing.compareAndSet(false, true)) {
+            return;
+        }
+
+        Snapshot current = snapshot.get();
+        Mono<?> refresh;
+        if (changeFeed && current != null && current.version() != null) {
+            log.debug("Employee snapshot expired, fetching changes since version {}", current.version().version());
+            refresh = employeeApiClient.changesSince(current.version())
+                    .doOnNext(changes -> applyChanges(current.version(), changes))
+                    .hasElement()
+                    .flatMap(applied -> applied ? Mono.<EmployeeListing>empty() : resync());
+        } else {
+            log.debug("Employee snapshot expired, refreshing in background");
+            refresh = reload();
+        }
+        refresh.doFinally(signal -> refreshing.set(false))
+                .subscribe(
+                        ignored -> {},
+                        ex -> log.warn("Background refresh of employee snapshot failed: {}", ex.getMessage()));
+    }
+
+    private Mono<EmployeeListing> resync() {
+        log.debug("Upstream changes can no longer be replayed, reloading the employee snapshot");
+        return reload();
+    }
+
+    private synchronized void publish(long expectedGeneration, EmployeeListing listing) {
+        if (generation.get() != expectedGeneration) {
+            // A write happened while this fetch was in flight; the list may predate it.
+            log.debug("Discarding employee snapshot fetched before a local write");
+            return;
+        }
+        Snapshot current = snapshot.get();
+        if (current != null && current.source() == listing) {
+            // Upstream confirmed the list is unchanged (304); keep the indexes and only restart the TTL.
+            snapshot.set(new Snapshot(current.employees(), clock.instant(), listing, current.version()));
+            log.debug("Employee snapshot revalidated");
+            return;
+        }
+        List<Employee> copy = List.copyOf(listing.employees());
+        snapshot.set(new Snapshot(copy, clock.instant(), listing, listing.version()));
+        listeners.forEach(listener -> listener.onSnapshot(copy));
+        log.debug("Cached employee snapshot with {} employees", copy.size());
+        saveInBackground();
+    }
+
+    /*
+     * Replays upstream writes on top of the snapshot they were requested for. Local writes may already have applied
+     * some of them, so creates of known ids and deletes of unknown ids are skipped. If the snapshot has been replaced
+     * since the changes were requested they are dropped; the next refresh asks again from the new version.
+     */
+    private synchronized void applyChanges(ListVersion since, EmployeeChanges changes) {
+        Snapshot current = snapshot.get();
+        if (current == null || !since.equals(current.version())) {
+            log.debug("Discarding employee changes fetched for a replaced snapshot");
+            return;
+        }
+        if (changes.changes().isEmpty()) {
+            snapshot.set(new Snapshot(current.employees(), clock.instant(), current.source(), changes.version()));
+            return;
+        }
+
+        Map<UUID, Employee> employees = new LinkedHashMap<>();
+        current.employees().forEach(employee -> employees.put(employee.getId(), employee));
+        for (EmployeeChange change : changes.changes()) {
+            Employee employee = change.getEmployee();
+            if (change.getType() == EmployeeChange.Type.CREATED) {
+                if (employees.putIfAbsent(employee.getId(), employee) == null) {
+                    listeners.forEach(listener -> listener.onCreated(employee));
+                }
+            } else {
+                Employee removed = employees.remove(employee.getId());
+                if (removed != null) {
+                    listeners.forEach(listener -> listener.onDeleted(removed));
+                }
+            }
+        }
+        snapshot.set(new Snapshot(List.copyOf(employees.values()), clock.instant(), null, changes.version()));
+        log.debug("Applied {} upstream changes to the employee snapshot, now at version {}",
+                changes.changes().size(), changes.version().version());
+        saveInBackground();
+    }
+
+    /*
+     * At most one save runs at a time; a sync that finishes meanwhile is not saved separately, since the next sync
+     * or the final save on shutdown writes a newer snapshot anyway.
+     */
+    private void saveInBackground() {
+        if (snapshotFile == null || !saving.compareAndSet(false, true)) {
+            return;
+        }
+        Mono.fromRunnable(this::save)
+                .subscribeOn(Schedulers.boundedElastic())
+                .doFinally(signal -> saving.set(false))
+                .subscribe();
+    }
+
+    private void save() {
+        synchronized (saveLock) {
+            Snapshot current = snapshot.get();
+            if (current == null || (saved != null && current.sameContent(saved))) {
+                return;
+            }
+            try {
+                snapshotFile.write(current.version(), current.employees());
+                saved = current;
+                log.debug("Saved employee snapshot with {} employees to {}",
+                        current.employees().size(), snapshotFile.path());
+            } catch (IOException ex) {
+                log.warn("Could not save employee snapshot to {}: {}", snapshotFile.path(), ex.getMessage());
+            }
+        }
+    }
+
+    /*
+     * source is the listing the client returned, or null once other writes have been applied on top of it. version
+     * is the upstream change-log position the employees reflect, or null if unknown.
+     */
+    private record Snapshot(List<Employee> employees, Instant fetchedAt, EmployeeListing source, ListVersion version) {
+        boolean isExpired(Instant now, Duration ttl) {
+            return !fetchedAt.plus(ttl).isAfter(now);
+        }
+
+        boolean sameContent(Snapshot other) {
+            return employees == other.employees() && Objects.equals(version, other.version());
+        }
+    }
+}
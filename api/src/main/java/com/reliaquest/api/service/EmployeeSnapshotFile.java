@@ -0,0 +1,98 @@
+package com.reliaquest.api.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.client.EmployeeListing;
+import com.reliaquest.api.client.ListVersion;
+import com.reliaquest.api.model.Employee;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileAttribute;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Local copy of the last employee snapshot and the upstream version it reflects, kept so a restarted service can
+ * serve reads before upstream has answered.
+ * <p>
+ * The file is JSON, written to a freshly created temporary file in the same directory that replaces it atomically, so
+ * a crash mid-write leaves the previous copy intact and a file planted under a predictable name is never written
+ * through. Where the file system supports it only the owner may read the file. A file that is missing, cannot be
+ * read, or was saved longer than {@code maxAge} ago is treated as absent, so a long-stopped service starts cold
+ * rather than serving a list that old.
+ */
+@Slf4j
+class EmployeeSnapshotFile {
+
+    private final ObjectMapper objectMapper;
+    private final Path file;
+    private final Duration maxAge;
+    private final Clock clock;
+
+    EmployeeSnapshotFile(ObjectMapper objectMapper, Path file, Duration maxAge, Clock clock) {
+        this.objectMapper = objectMapper;
+        this.file = file;
+        this.maxAge = maxAge;
+        this.clock = clock;
+    }
+
+    Optional<EmployeeListing> read() {
+        try (InputStream in = Files.newInputStream(file)) {
+            Saved saved = objectMapper.readValue(in, Saved.class);
+            if (saved.employees() == null) {
+                log.warn("Ignoring employee snapshot file {} without an employee list", file);
+                return Optional.empty();
+            }
+            if (saved.savedAt() == null || saved.savedAt().plus(maxAge).isBefore(clock.instant())) {
+                log.info("Ignoring employee snapshot file {} saved at {}, more than {} ago",
+                        file, saved.savedAt(), maxAge);
+                return Optional.empty();
+            }
+            return Optional.of(new EmployeeListing(null, saved.version(), saved.employees()));
+        } catch (NoSuchFileException ex) {
+            return Optional.empty();
+        } catch (IOException ex) {
+            log.warn("Ignoring unreadable employee snapshot file {}: {}", file, ex.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    void write(ListVersion version, List<Employee> employees) throws IOException {
+        Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, file.getFileName() + ".", ".tmp", ownerOnly(directory));
+        try {
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                objectMapper.writeValue(out, new Saved(version, clock.instant(), employees));
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    Path path() {
+        return file;
+    }
+
+    private static FileAttribute<?>[] ownerOnly(Path directory) {
+        if (!directory.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+            return new FileAttribute<?>[0];
+        }
+        return new FileAttribute<?>[] {
+                PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------"))
+        };
+    }
+
+    record Saved(ListVersion version, Instant savedAt, List<Employee> employees) {}
+}
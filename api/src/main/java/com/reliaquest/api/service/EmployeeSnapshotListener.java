@@ -0,0 +1,19 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.model.Employee;
+
+import java.util.List;
+
+/**
+ * Receives every change to the cached employee snapshot, in order, so derived structures can be kept up to date
+ * without rescanning the whole list on each read.
+ */
+public interface EmployeeSnapshotListener {
+
+    /** A complete list replaced the current snapshot. */
+    void onSnapshot(List<Employee> employees);
+
+    void onCreated(Employee employee);
+
+    void onDeleted(Employee employee);
+}
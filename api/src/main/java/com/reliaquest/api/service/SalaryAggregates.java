@@ -0,0 +1,135 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.model.Employee;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Employees ordered by salary, highest first, kept in step with the employee snapshot.
+ * <p>
+ * A full snapshot rebuilds the ordering once; creates and deletes adjust it in O(log n). The highest salary is
+ * then read from the head of the ordering and the top earners by walking its first k entries. Employees on the same
+ * salary keep their order in the employee list, with created employees after those of the last snapshot.
+ */
+@Component
+public class SalaryAggregates implements EmployeeSnapshotListener {
+
+    private static final Comparator<Ranked> BY_SALARY_DESC = Comparator
+            .comparingInt((Ranked ranked) -> ranked.employee().getEmployee_salary())
+            .reversed()
+            .thenComparingLong(Ranked::ordinal);
+
+    private volatile State state = State.empty();
+    private long nextOrdinal;
+
+    public int getHighestSalary() {
+        NavigableSet<Ranked> bySalary = state.bySalary();
+        return bySalary.isEmpty() ? 0 : bySalary.first().employee().getEmployee_salary();
+    }
+
+    public List<String> getTopEarnerNames(int limit) {
+        List<String> names = new ArrayList<>(limit);
+        Iterator<Ranked> it = state.bySalary().iterator();
+        while (names.size() < limit && it.hasNext()) {
+            names.add(it.next().employee().getEmployee_name());
+        }
+        return names;
+    }
+
+    /**
+     * Highest salary of a streamed list, computed without holding the list in memory.
+     */
+    public static Mono<Integer> highestSalary(Flux<Employee> employees) {
+        return employees
+                .filter(employee -> employee.getEmployee_salary() != null)
+                .reduce(0, (max, employee) -> Math.max(max, employee.getEmployee_salary()));
+    }
+
+    /**
+     * Top earners of a streamed list, keeping only the current {@code limit} best in a min-heap. Ties keep their
+     * order in the stream.
+     */
+    public static Mono<List<String>> topEarnerNames(Flux<Employee> employees, int limit) {
+        return employees
+                .index(Ranked::new)
+                .filter(ranked -> ranked.employee().getEmployee_salary() != null && ranked.employee().getId() != null)
+                .collect(() -> new PriorityQueue<>(limit + 1, BY_SALARY_DESC.reversed()),
+                        (PriorityQueue<Ranked> heap, Ranked ranked) -> {
+                            heap.offer(ranked);
+                            if (heap.size() > limit) {
+                                heap.poll();
+                            }
+                        })
+                .map(heap -> heap.stream()
+                        .sorted(BY_SALARY_DESC)
+                        .map(ranked -> ranked.employee().getEmployee_name())
+                        .toList());
+    }
+
+    @Override
+    public synchronized void onSnapshot(List<Employee> employees) {
+        State rebuilt = State.empty();
+        nextOrdinal = 0;
+        employees.forEach(employee -> rebuilt.add(employee, nextOrdinal++));
+        state = rebuilt;
+    }
+
+    @Override
+    public synchronized void onCreated(Employee employee) {
+        state.add(employee, nextOrdinal++);
+    }
+
+    @Override
+    public synchronized void onDeleted(Employee employee) {
+        state.remove(employee);
+    }
+
+    /*
+     * An employee with its position in the employee list, which breaks salary ties.
+     */
+    private record Ranked(long ordinal, Employee employee) {
+    }
+
+    private record State(NavigableSet<Ranked> bySalary, Map<UUID, Ranked> byId) {
+
+        static State empty() {
+            return new State(new ConcurrentSkipListSet<>(BY_SALARY_DESC), new HashMap<>());
+        }
+
+        void add(Employee employee, long ordinal) {
+            if (employee.getEmployee_salary() == null || employee.getId() == null) {
+                return;
+            }
+            Ranked previous = byId.get(employee.getId());
+            // A replaced employee keeps its place in the list.
+            Ranked ranked = new Ranked(previous == null ? ordinal : previous.ordinal(), employee);
+            if (previous != null) {
+                bySalary.remove(previous);
+            }
+            byId.put(employee.getId(), ranked);
+            bySalary.add(ranked);
+        }
+
+        void remove(Employee employee) {
+            if (employee.getId() == null) {
+                return;
+            }
+            Ranked stored = byId.remove(employee.getId());
+            if (stored != null) {
+                bySalary.remove(stored);
+            }
+        }
+    }
+}
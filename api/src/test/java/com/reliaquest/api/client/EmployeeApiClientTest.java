@@ -1,16 +1,35 @@
 package com.reliaquest.api.client;
 
+import com.reliaquest.api.exception.UpstreamRateLimitedException;
 import com.reliaquest.api.model.CreateEmployeeRequest;
 import com.reliaquest.api.model.Employee;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
-import org.springframework.http.HttpMethod;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.web.reactive.function.client.*;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.retry.Retry;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -30,12 +49,17 @@ class EmployeeApiClientTest {
     @Mock private WebClient.RequestBodySpec requestBodySpec;
     @Mock private WebClient.ResponseSpec responseSpec;
 
-    @InjectMocks
+    private SimpleMeterRegistry meterRegistry;
     private EmployeeApiClient employeeApiClient;
 
     @BeforeEach
     void setup() {
         MockitoAnnotations.openMocks(this);
+        UpstreamBudget budget = new UpstreamBudget(100, Duration.ofSeconds(1), Duration.ofSeconds(30),
+                Duration.ofSeconds(90), Retry.max(1).filter(UpstreamBudget::isRetryable), Clock.systemUTC());
+        meterRegistry = new SimpleMeterRegistry();
+        employeeApiClient = new EmployeeApiClient(webClient, budget, decoder(), new UpstreamPaging(0, 1),
+                new UpstreamMetrics(meterRegistry));
     }
 
     @Test
@@ -43,12 +67,7 @@ class EmployeeApiClientTest {
         Employee emp = new Employee(
                 UUID.randomUUID(), "John", 90000, 32, "Developer", "john@company.com");
 
-        ApiResponseList mockResponse = new ApiResponseList();
-        mockResponse.setData(List.of(emp));
-
-        when(webClient.get()).thenReturn(requestUriSpec);
-        when(requestUriSpec.retrieve()).thenReturn(responseSpec);
-        when(responseSpec.bodyToMono(ApiResponseList.class)).thenReturn(Mono.just(mockResponse));
+        stubListResponses(Mono.just(listResponse(emp, null)));
 
         List<Employee> employees = employeeApiClient.getAllEmployees();
 
@@ -106,18 +125,342 @@ class EmployeeApiClientTest {
     }
 
     @Test
-    void testDeleteEmployeeByName() {
+    void testCreateAllSendsOneBatchRequest() {
+        List<CreateEmployeeRequest> requests = List.of(
+                new CreateEmployeeRequest("Bob", 85000, 27, "Analyst"),
+                new CreateEmployeeRequest("Cleo", 98000, 39, "Lead"));
+        List<Employee> created = List.of(
+                new Employee(UUID.randomUUID(), "Bob", 85000, 27, "Analyst", "bob@company.com"),
+                new Employee(UUID.randomUUID(), "Cleo", 98000, 39, "Lead", "cleo@company.com"));
+
+        ApiResponseList mockResponse = new ApiResponseList();
+        mockResponse.setData(created);
+
+        when(webClient.post()).thenReturn(requestBodyUriSpec);
+        when(requestBodyUriSpec.uri("/batch")).thenReturn(requestBodySpec);
+        when(requestBodySpec.bodyValue(any(CreateMockEmployeesInput.class))).thenReturn(requestHeadersSpec);
+        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.bodyToMono(ApiResponseList.class)).thenReturn(Mono.just(mockResponse));
+
+        assertEquals(created, employeeApiClient.createAll(requests).block());
+        verify(requestBodySpec).bodyValue(new CreateMockEmployeesInput(requests));
+        verify(webClient, times(1)).post();
+    }
+
+    @Test
+    void testCreateAllIsNotRetriedOnTransientFailure() {
+        List<CreateEmployeeRequest> requests = List.of(new CreateEmployeeRequest("Bob", 85000, 27, "Analyst"));
+
+        when(webClient.post()).thenReturn(requestBodyUriSpec);
+        when(requestBodyUriSpec.uri("/batch")).thenReturn(requestBodySpec);
+        when(requestBodySpec.bodyValue(any(CreateMockEmployeesInput.class))).thenReturn(requestHeadersSpec);
+        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.bodyToMono(ApiResponseList.class)).thenReturn(Mono.error(
+                WebClientResponseException.create(502, "Bad Gateway", HttpHeaders.EMPTY, new byte[0], null)));
+
+        assertThrows(WebClientResponseException.BadGateway.class, () -> employeeApiClient.createAll(requests).block());
+        verify(webClient, times(1)).post();
+    }
+
+    @Test
+    void testDeleteByIdReturnsDeletedEmployeeInOneCall() {
         Employee emp = new Employee(
-                UUID.randomUUID(), "Charlie", 78000, 29, "Tester", "charlie@company.com");
+                UUID.randomUUID(), "Cora", 76000, 34, "Tester", "cora@company.com");
 
-        when(webClient.method(HttpMethod.DELETE)).thenReturn(requestBodyUriSpec);
-        when(requestBodyUriSpec.contentType(any())).thenReturn(requestBodySpec);
-        when(requestBodySpec.bodyValue(any())).thenReturn(requestHeadersSpec);
+        ApiResponse mockResponse = new ApiResponse();
+        mockResponse.setData(emp);
+
+        String id = emp.getId().toString();
+        when(webClient.delete()).thenReturn(requestUriSpec);
+        when(requestUriSpec.uri(eq("/{id}"), eq(id))).thenReturn(requestHeadersSpec);
         when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
-        when(responseSpec.bodyToMono(String.class)).thenReturn(Mono.just("deleted"));
+        when(responseSpec.bodyToMono(ApiResponse.class)).thenReturn(Mono.just(mockResponse));
+
+        assertEquals(emp, employeeApiClient.deleteById(id).block());
+        verify(webClient, times(1)).delete();
+        verify(webClient, never()).get();
+    }
+
+    @Test
+    void testDeleteByIdIsEmptyWhenUpstreamDoesNotKnowTheId() {
+        String id = UUID.randomUUID().toString();
+        when(webClient.delete()).thenReturn(requestUriSpec);
+        when(requestUriSpec.uri(eq("/{id}"), eq(id))).thenReturn(requestHeadersSpec);
+        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.bodyToMono(ApiResponse.class)).thenReturn(
+                Mono.error(WebClientResponseException.create(404, "Not Found", HttpHeaders.EMPTY, new byte[0], null)));
+
+        assertNull(employeeApiClient.deleteById(id).block());
+    }
 
-        String result = employeeApiClient.deleteEmployeeByName(emp);
+    @Test
+    void testDeleteByIdIsNotRetriedOnTransientFailure() {
+        String id = UUID.randomUUID().toString();
+        when(webClient.delete()).thenReturn(requestUriSpec);
+        when(requestUriSpec.uri(eq("/{id}"), eq(id))).thenReturn(requestHeadersSpec);
+        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.bodyToMono(ApiResponse.class)).thenReturn(Mono.error(
+                WebClientResponseException.create(503, "Service Unavailable", HttpHeaders.EMPTY, new byte[0], null)));
+
+        assertThrows(WebClientResponseException.ServiceUnavailable.class,
+                () -> employeeApiClient.deleteById(id).block());
+        verify(webClient, times(1)).delete();
+    }
+
+    @Test
+    void testConcurrentGetAllEmployeesShareOneRequest() throws Exception {
+        Employee emp = new Employee(
+                UUID.randomUUID(), "Dana", 95000, 41, "Architect", "dana@company.com");
+
+        Sinks.One<String> upstream = Sinks.one();
+
+        stubListResponses(upstream.asMono().map(json -> ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, "application/json")
+                .body(json)
+                .build()));
+
+        // Both reads subscribe before upstream answers, so the second has to join the first.
+        CompletableFuture<List<Employee>> first = employeeApiClient.allEmployees().toFuture();
+        CompletableFuture<List<Employee>> second = employeeApiClient.allEmployees().toFuture();
+        assertFalse(first.isDone());
+        upstream.tryEmitValue(listJson(emp));
+
+        assertEquals(List.of(emp), first.get(5, TimeUnit.SECONDS));
+        assertEquals(List.of(emp), second.get(5, TimeUnit.SECONDS));
+        verify(webClient, times(1)).get();
+        assertEquals(1, meterRegistry.counter("employees.upstream.coalesced", "resource", "employees").count());
+    }
+
+    @Test
+    void testSequentialGetEmployeeByIdIssuesNewRequests() {
+        Employee emp = new Employee(
+                UUID.randomUUID(), "Eve", 70000, 26, "Designer", "eve@company.com");
+
+        ApiResponse mockResponse = new ApiResponse();
+        mockResponse.setData(emp);
+
+        String id = emp.getId().toString();
+        when(webClient.get()).thenReturn(requestUriSpec);
+        when(requestUriSpec.uri(eq("/{id}"), eq(id))).thenReturn(requestHeadersSpec);
+        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.bodyToMono(ApiResponse.class)).thenReturn(Mono.just(mockResponse));
+
+        employeeApiClient.getEmployeeById(id);
+        employeeApiClient.getEmployeeById(id);
+
+        verify(webClient, times(2)).get();
+    }
+
+    @Test
+    void testGetAllEmployeesRetriesTransientFailure() {
+        Employee emp = new Employee(
+                UUID.randomUUID(), "Finn", 65000, 33, "Support", "finn@company.com");
+
+        stubListResponses(
+                Mono.just(ClientResponse.create(HttpStatus.SERVICE_UNAVAILABLE).build()),
+                Mono.just(listResponse(emp, null)));
+
+        List<Employee> employees = employeeApiClient.getAllEmployees();
+
+        assertEquals(List.of(emp), employees);
+    }
+
+    @Test
+    void testCreateEmployeeIsNotRetriedOnTransientFailure() {
+        CreateEmployeeRequest request = new CreateEmployeeRequest("Finn", 65000, 33, "Support");
+
+        when(webClient.post()).thenReturn(requestBodyUriSpec);
+        when(requestBodyUriSpec.bodyValue(request)).thenReturn(requestHeadersSpec);
+        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.bodyToMono(ApiResponse.class)).thenReturn(Mono.error(
+                WebClientResponseException.create(503, "Service Unavailable", HttpHeaders.EMPTY, new byte[0], null)));
+
+        assertThrows(WebClientResponseException.ServiceUnavailable.class,
+                () -> employeeApiClient.createEmployee(request));
+        verify(webClient, times(1)).post();
+    }
+
+    @Test
+    void testGetAllEmployeesFallsBackToLastKnownListWhenRateLimited() {
+        Employee emp = new Employee(
+                UUID.randomUUID(), "Gina", 88000, 38, "Recruiter", "gina@company.com");
+
+        stubListResponses(
+                Mono.just(listResponse(emp, null)),
+                Mono.just(ClientResponse.create(HttpStatus.TOO_MANY_REQUESTS).build()));
+
+        employeeApiClient.getAllEmployees();
+        List<Employee> employees = employeeApiClient.getAllEmployees();
+
+        assertEquals(List.of(emp), employees);
+        assertEquals(1, meterRegistry.counter("employees.upstream.rate.limited").count());
+        assertEquals(1, meterRegistry.counter("employees.upstream.fallbacks", "resource", "employees").count());
+    }
+
+    @Test
+    void testGetAllEmployeesRevalidatesWithETagAndReusesListOnNotModified() {
+        Employee emp = new Employee(
+                UUID.randomUUID(), "Gus", 91000, 52, "Controller", "gus@company.com");
+
+        List<HttpHeaders> sentHeaders = stubListResponses(
+                Mono.just(listResponse(emp, "\"v1\"")),
+                Mono.just(ClientResponse.create(HttpStatus.NOT_MODIFIED).build()));
+
+        List<Employee> first = employeeApiClient.getAllEmployees();
+        List<Employee> second = employeeApiClient.getAllEmployees();
+
+        assertSame(first, second);
+        assertNull(sentHeaders.get(0).getFirst(HttpHeaders.IF_NONE_MATCH));
+        assertEquals("\"v1\"", sentHeaders.get(1).getFirst(HttpHeaders.IF_NONE_MATCH));
+        assertEquals(1, meterRegistry.counter("employees.upstream.not.modified").count());
+    }
+
+    @Test
+    void testRateLimitedWithoutFallbackSurfacesException() {
+        CreateEmployeeRequest request = new CreateEmployeeRequest("Hank", 50000, 45, "Clerk");
+
+        when(webClient.post()).thenReturn(requestBodyUriSpec);
+        when(requestBodyUriSpec.bodyValue(request)).thenReturn(requestHeadersSpec);
+        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.bodyToMono(ApiResponse.class)).thenReturn(
+                Mono.error(WebClientResponseException.create(429, "Too Many Requests", HttpHeaders.EMPTY, new byte[0], null)));
+
+        UpstreamRateLimitedException ex =
+                assertThrows(UpstreamRateLimitedException.class, () -> employeeApiClient.createEmployee(request));
+        assertTrue(ex.getRetryAfter().toSeconds() > 0);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testPagedStreamFetchesRemainingPagesInOrder() {
+        UpstreamBudget budget = new UpstreamBudget(100, Duration.ofSeconds(1), Duration.ofSeconds(30),
+                Duration.ofSeconds(90), Retry.max(0), Clock.systemUTC());
+        EmployeeApiClient pagedClient = new EmployeeApiClient(webClient, budget, decoder(), new UpstreamPaging(1, 2),
+                new UpstreamMetrics(meterRegistry));
+        Employee first = new Employee(UUID.randomUUID(), "Ivy", 61000, 28, "Analyst", "ivy@company.com");
+        Employee second = new Employee(UUID.randomUUID(), "Jack", 72000, 31, "Engineer", "jack@company.com");
+        Employee third = new Employee(UUID.randomUUID(), "Kim", 83000, 44, "Manager", "kim@company.com");
+
+        when(webClient.get()).thenReturn(requestUriSpec);
+        when(requestUriSpec.uri(any(Function.class))).thenReturn(requestHeadersSpec);
+        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.toEntityFlux(DataBuffer.class)).thenReturn(
+                page(first, 1, 3), page(second, 2, 3), page(third, null, 3));
+
+        List<Employee> employees = pagedClient.streamEmployees().collectList().block();
+
+        assertEquals(List.of(first, second, third), employees);
+        verify(webClient, times(3)).get();
+    }
+
+    @Test
+    void testChangesSinceReturnsChangesAndTheirVersion() {
+        Employee emp = new Employee(
+                UUID.randomUUID(), "Lena", 67000, 36, "Buyer", "lena@company.com");
+
+        stubChangesResponse(ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, "application/json")
+                .header("X-Employees-Version", "8")
+                .header("X-Employees-Epoch", "e1")
+                .body("{\"data\":[{\"version\":8,\"type\":\"CREATED\",\"employee\":"
+                        + employeeJson(emp) + "}],\"status\":\"Successfully processed request.\"}")
+                .build());
+
+        EmployeeChanges changes = employeeApiClient.changesSince(new ListVersion("e1", 7)).block();
+
+        assertNotNull(changes);
+        assertEquals(new ListVersion("e1", 8), changes.version());
+        assertEquals(1, changes.changes().size());
+        assertEquals(EmployeeChange.Type.CREATED, changes.changes().get(0).getType());
+        assertEquals(emp, changes.changes().get(0).getEmployee());
+    }
+
+    @Test
+    void testChangesSinceIsEmptyWhenLogWasTruncated() {
+        stubChangesResponse(ClientResponse.create(HttpStatus.GONE).header("X-Employees-Epoch", "e1").build());
+
+        assertNull(employeeApiClient.changesSince(new ListVersion("e1", 7)).block());
+        assertEquals(1, meterRegistry.counter("employees.upstream.changes.resync").count());
+    }
+
+    @Test
+    void testChangesSinceIsEmptyAfterServerRestart() {
+        stubChangesResponse(ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, "application/json")
+                .header("X-Employees-Version", "8")
+                .header("X-Employees-Epoch", "e2")
+                .body("{\"data\":[],\"status\":\"Successfully processed request.\"}")
+                .build());
+
+        assertNull(employeeApiClient.changesSince(new ListVersion("e1", 7)).block());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubChangesResponse(ClientResponse response) {
+        when(webClient.get()).thenReturn(requestUriSpec);
+        when(requestUriSpec.uri(any(Function.class))).thenReturn(requestHeadersSpec);
+        when(requestHeadersSpec.exchangeToMono(any())).thenAnswer(invocation ->
+                invocation.<Function<ClientResponse, Mono<?>>>getArgument(0).apply(response));
+    }
+
+    /*
+     * Stubs the conditional list read. Each attempt takes the next response (the last one repeats), and the headers
+     * sent with every attempt are returned for inspection.
+     */
+    @SafeVarargs
+    @SuppressWarnings("unchecked")
+    private List<HttpHeaders> stubListResponses(Mono<ClientResponse>... responses) {
+        List<HttpHeaders> sentHeaders = new CopyOnWriteArrayList<>();
+        AtomicInteger attempts = new AtomicInteger();
+        when(webClient.get()).thenReturn(requestUriSpec);
+        when(requestUriSpec.headers(any())).thenAnswer(invocation -> {
+            HttpHeaders headers = new HttpHeaders();
+            invocation.<Consumer<HttpHeaders>>getArgument(0).accept(headers);
+            sentHeaders.add(headers);
+            return requestUriSpec;
+        });
+        when(requestUriSpec.exchangeToMono(any())).thenAnswer(invocation -> {
+            Function<ClientResponse, Mono<?>> handler = invocation.getArgument(0);
+            return responses[Math.min(attempts.getAndIncrement(), responses.length - 1)].flatMap(handler);
+        });
+        return sentHeaders;
+    }
+
+    private static ClientResponse listResponse(Employee employee, String etag) {
+        ClientResponse.Builder response = ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, "application/json")
+                .body(listJson(employee));
+        if (etag != null) {
+            response.header(HttpHeaders.ETAG, etag);
+        }
+        return response.build();
+    }
+
+    private static EmployeeStreamDecoder decoder() {
+        return new EmployeeStreamDecoder(Jackson2ObjectMapperBuilder.json().build());
+    }
+
+    private static Mono<ResponseEntity<Flux<DataBuffer>>> page(Employee employee, Integer next, int end) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.add("X-Cursor-End", String.valueOf(end));
+        if (next != null) {
+            headers.add("X-Next-Cursor", String.valueOf(next));
+        }
+        return Mono.just(new ResponseEntity<>(body(listJson(employee)), headers, HttpStatus.OK));
+    }
+
+    private static String listJson(Employee employee) {
+        return "{\"data\":[" + employeeJson(employee) + "],\"status\":\"Successfully processed request.\"}";
+    }
+
+    private static String employeeJson(Employee employee) {
+        return "{\"id\":\"" + employee.getId() + "\",\"employee_name\":\"" + employee.getEmployee_name()
+                + "\",\"employee_salary\":" + employee.getEmployee_salary() + ",\"employee_age\":" + employee.getEmployee_age()
+                + ",\"employee_title\":\"" + employee.getEmployee_title() + "\",\"employee_email\":\""
+                + employee.getEmployee_email() + "\"}";
+    }
 
-        assertEquals("Charlie", result);
+    private static Flux<DataBuffer> body(String json) {
+        return Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(json.getBytes(StandardCharsets.UTF_8)));
     }
 }
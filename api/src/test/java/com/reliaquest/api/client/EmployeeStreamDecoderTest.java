@@ -0,0 +1,73 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.model.Employee;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import reactor.core.publisher.Flux;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EmployeeStreamDecoderTest {
+
+    private static final String BODY = """
+            {"status":"Successfully processed request.",
+             "meta":{"data":[{"ignored":true}]},
+             "data":[
+               {"id":"4a3a170b-22cd-4ac2-aad1-9bb5b34a1507","employee_name":"Tiger Nixon","employee_salary":320800,
+                "employee_age":61,"employee_title":"Vice Chair","employee_email":"tnixon@company.com",
+                "extra":{"nested":[1,{"deep":"value"}]}},
+               {"id":"5255f1a5-f9f7-4be5-829a-134bde088d17","employee_name":"Bill Bob","employee_salary":89750,
+                "employee_age":24,"employee_title":"Documentation Engineer","employee_email":"billBob@company.com"}
+             ],
+             "error":null}
+            """;
+
+    private final EmployeeStreamDecoder decoder =
+            new EmployeeStreamDecoder(Jackson2ObjectMapperBuilder.json().build());
+
+    @Test
+    void decode_emitsEachEmployeeAcrossArbitraryChunkBoundaries() {
+        List<Employee> employees = decoder.decode(chunks(BODY, 7)).collectList().block();
+
+        assertThat(employees).extracting(Employee::getEmployee_name).containsExactly("Tiger Nixon", "Bill Bob");
+        assertThat(employees.get(0).getEmployee_salary()).isEqualTo(320800);
+        assertThat(employees.get(1).getEmployee_email()).isEqualTo("billBob@company.com");
+    }
+
+    @Test
+    void decode_emitsNothingForNullData() {
+        List<Employee> employees = decoder.decode(chunks("{\"data\":null,\"status\":\"ok\"}", 5)).collectList().block();
+
+        assertThat(employees).isEmpty();
+    }
+
+    @Test
+    void decode_failsOnTruncatedBody() {
+        String truncated = BODY.substring(0, BODY.indexOf("Bill Bob"));
+
+        List<Employee> decoded = new ArrayList<>();
+
+        assertThatThrownBy(() -> decoder.decode(chunks(truncated, 16)).doOnNext(decoded::add).blockLast())
+                .isInstanceOf(DecodingException.class);
+        assertThat(decoded).extracting(Employee::getEmployee_name).containsExactly("Tiger Nixon");
+    }
+
+    private static Flux<DataBuffer> chunks(String json, int size) {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        List<DataBuffer> buffers = new ArrayList<>();
+        for (int offset = 0; offset < bytes.length; offset += size) {
+            byte[] chunk = new byte[Math.min(size, bytes.length - offset)];
+            System.arraycopy(bytes, offset, chunk, 0, chunk.length);
+            buffers.add(DefaultDataBufferFactory.sharedInstance.wrap(chunk));
+        }
+        return Flux.fromIterable(buffers);
+    }
+}
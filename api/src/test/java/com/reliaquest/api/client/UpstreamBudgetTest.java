@@ -0,0 +1,84 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.support.MutableClock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UpstreamBudgetTest {
+
+    private MutableClock clock;
+    private UpstreamBudget budget;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2024-01-01T00:00:00Z"));
+        budget = new UpstreamBudget(10, Duration.ofSeconds(60), Duration.ofSeconds(30), Duration.ofSeconds(90),
+                Retry.max(0), clock);
+    }
+
+    @Test
+    void tryAcquire_grantsUpToCapacity() {
+        for (int i = 0; i < 10; i++) {
+            assertThat(budget.tryAcquire()).isTrue();
+        }
+        assertThat(budget.tryAcquire()).isFalse();
+        assertThat(budget.retryAfter()).isEqualTo(Duration.ofSeconds(6));
+    }
+
+    @Test
+    void tryAcquire_refillsOverTime() {
+        for (int i = 0; i < 10; i++) {
+            budget.tryAcquire();
+        }
+        clock.advance(Duration.ofSeconds(12));
+
+        assertThat(budget.tryAcquire()).isTrue();
+        assertThat(budget.tryAcquire()).isTrue();
+        assertThat(budget.tryAcquire()).isFalse();
+    }
+
+    @Test
+    void onRateLimited_learnsLimitAndPausesForCooldown() {
+        for (int i = 0; i < 7; i++) {
+            budget.tryAcquire();
+        }
+        budget.onRateLimited(null);
+
+        assertThat(budget.tryAcquire()).isFalse();
+        assertThat(budget.retryAfter()).isEqualTo(Duration.ofSeconds(30));
+
+        clock.advance(Duration.ofSeconds(30));
+        for (int i = 0; i < 6; i++) {
+            assertThat(budget.tryAcquire()).isTrue();
+        }
+        assertThat(budget.tryAcquire()).isFalse();
+    }
+
+    @Test
+    void onRateLimited_prefersServerRetryAfter() {
+        budget.tryAcquire();
+        budget.tryAcquire();
+        budget.onRateLimited(Duration.ofSeconds(45));
+
+        assertThat(budget.retryAfter()).isEqualTo(Duration.ofSeconds(45));
+    }
+
+    @Test
+    void onRateLimited_doublesCooldownWhenRejectedRightAfterIt() {
+        budget.tryAcquire();
+        budget.tryAcquire();
+        budget.onRateLimited(null);
+        clock.advance(Duration.ofSeconds(30));
+
+        budget.tryAcquire();
+        budget.onRateLimited(null);
+
+        assertThat(budget.retryAfter()).isEqualTo(Duration.ofSeconds(60));
+    }
+}
@@ -16,6 +16,7 @@ import java.io.IOException;
 
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @ExtendWith(SpringExtension.class)
 @SpringBootTest(classes = WebClientConfig.class, webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
@@ -59,6 +60,8 @@ public class WebClientConfigTest {
         RecordedRequest recordedRequest = mockBackEnd.takeRequest();
 
         assertEquals("/employees", recordedRequest.getPath());
+        assertNotNull(recordedRequest.getHeader("X-Client-Id"));
+        assertTrue(recordedRequest.getHeader("Accept-Encoding").contains("gzip"));
         assertEquals("Test Response", responseBody);
     }
 }
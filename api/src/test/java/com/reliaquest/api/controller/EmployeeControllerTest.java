@@ -2,8 +2,10 @@ package com.reliaquest.api.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.reliaquest.api.exception.EmployeeNotFoundException;
+import com.reliaquest.api.model.BatchCreateResult;
 import com.reliaquest.api.model.CreateEmployeeRequest;
 import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.EmployeeBatchService;
 import com.reliaquest.api.service.EmployeeService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -34,6 +36,9 @@ class EmployeeControllerTest {
     @MockBean
     private EmployeeService service;
 
+    @MockBean
+    private EmployeeBatchService batchService;
+
     @Autowired
     private ObjectMapper mapper;
 
@@ -133,23 +138,57 @@ class EmployeeControllerTest {
         }
     }
 
+    @Nested
+    @DisplayName("POST /api/v1/employees/batch")
+    class CreateBatch {
+        @Test
+        void returns201WhenAllCreated() throws Exception {
+            List<CreateEmployeeRequest> reqs = List.of(new CreateEmployeeRequest("Alice", 100000, 30, "Engineer"));
+            Mockito.when(batchService.createEmployees(reqs)).thenReturn(List.of(BatchCreateResult.created(0, sample)));
+
+            mvc.perform(post("/api/v1/employees/batch")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(mapper.writeValueAsString(reqs)))
+                    .andExpect(status().isCreated())
+                    .andExpect(jsonPath("$[0].status").value("CREATED"))
+                    .andExpect(jsonPath("$[0].employee.id").value(sample.getId().toString()));
+        }
+
+        @Test
+        void returns207WithPerItemResults() throws Exception {
+            List<CreateEmployeeRequest> reqs = List.of(
+                    new CreateEmployeeRequest("Alice", 100000, 30, "Engineer"),
+                    new CreateEmployeeRequest("", 0, 30, "Engineer"));
+            Mockito.when(batchService.createEmployees(reqs)).thenReturn(List.of(
+                    BatchCreateResult.created(0, sample),
+                    BatchCreateResult.invalid(1, "Name must not be blank; Salary must be greater than 0")));
+
+            mvc.perform(post("/api/v1/employees/batch")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(mapper.writeValueAsString(reqs)))
+                    .andExpect(status().isMultiStatus())
+                    .andExpect(jsonPath("$", hasSize(2)))
+                    .andExpect(jsonPath("$[1].status").value("INVALID"))
+                    .andExpect(jsonPath("$[1].employee").doesNotExist());
+        }
+    }
+
     @Nested
     @DisplayName("DELETE /api/v1/employees/{id}")
     class DeleteById {
         @Test
         void deletesEmployee() throws Exception {
-            Mockito.when(service.getEmployeeById(sample.getId().toString())).thenReturn(sample);
-            Mockito.when(service.deleteEmployeeByName(sample)).thenReturn(sample.getEmployee_name());
+            Mockito.when(service.deleteEmployeeById(sample.getId().toString())).thenReturn(sample.getEmployee_name());
 
             mvc.perform(delete("/api/v1/employees/{id}", sample.getId().toString()))
                     .andExpect(status().isOk())
                     .andExpect(content().string(sample.getEmployee_name()));
+            Mockito.verify(service, Mockito.never()).getEmployeeById(any());
         }
 
         @Test
         void returns404WhenNotFound() throws Exception {
-            Mockito.when(service.getEmployeeById(sample.getId().toString()))
-                    .thenThrow(new EmployeeNotFoundException("Employee not found with ID: " + sample.getId().toString()));
+            Mockito.when(service.deleteEmployeeById(sample.getId().toString())).thenReturn(null);
 
             mvc.perform(delete("/api/v1/employees/{id}", sample.getId().toString()))
                     .andExpect(status().isNotFound())
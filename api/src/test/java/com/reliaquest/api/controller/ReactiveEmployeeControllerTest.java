@@ -0,0 +1,137 @@
+package com.reliaquest.api.controller;
+
+import com.reliaquest.api.exception.ReactiveExceptionHandler;
+import com.reliaquest.api.model.BatchCreateResult;
+import com.reliaquest.api.model.CreateEmployeeRequest;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.EmployeeBatchService;
+import com.reliaquest.api.service.EmployeeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+
+class ReactiveEmployeeControllerTest {
+
+    private EmployeeService service;
+    private EmployeeBatchService batchService;
+    private WebTestClient client;
+
+    private final Employee sample = new Employee(
+            UUID.randomUUID(),
+            "Alice",
+            100000,
+            30,
+            "Engineer",
+            "alice@company.com"
+    );
+
+    @BeforeEach
+    void setUp() {
+        service = Mockito.mock(EmployeeService.class);
+        batchService = Mockito.mock(EmployeeBatchService.class);
+        client = WebTestClient.bindToController(new ReactiveEmployeeController(service, batchService))
+                .controllerAdvice(new ReactiveExceptionHandler())
+                .build();
+    }
+
+    @Test
+    void getAllEmployees_returnsList() {
+        Mockito.when(service.allEmployees()).thenReturn(Mono.just(List.of(sample)));
+
+        client.get().uri("/api/v1/employees")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$[0].id").isEqualTo(sample.getId().toString());
+    }
+
+    @Test
+    void getHighestSalary_returns404WhenNoEmployees() {
+        Mockito.when(service.highestSalary()).thenReturn(Mono.just(0));
+
+        client.get().uri("/api/v1/employees/highestSalary")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("No employees found to calculate highest salary");
+    }
+
+    @Test
+    void createEmployee_returnsCreated() {
+        CreateEmployeeRequest req = new CreateEmployeeRequest("Alice", 100000, 30, "Engineer");
+        Mockito.when(service.create(any(CreateEmployeeRequest.class))).thenReturn(Mono.just(sample));
+
+        client.post().uri("/api/v1/employees")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(req)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectHeader().valueEquals("Location", "/api/v1/employees/" + sample.getId())
+                .expectBody()
+                .jsonPath("$.employee_name").isEqualTo("Alice");
+    }
+
+    @Test
+    void createEmployee_returns400OnInvalid() {
+        CreateEmployeeRequest req = new CreateEmployeeRequest("", 0, 0, "");
+
+        client.post().uri("/api/v1/employees")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(req)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").exists();
+    }
+
+    @Test
+    void createEmployees_returnsPerItemResults() {
+        List<CreateEmployeeRequest> reqs = List.of(
+                new CreateEmployeeRequest("Alice", 100000, 30, "Engineer"),
+                new CreateEmployeeRequest("Bob", 90000, 41, "Manager"));
+        Mockito.when(batchService.createAll(reqs)).thenReturn(Mono.just(List.of(
+                BatchCreateResult.created(0, sample),
+                BatchCreateResult.failed(1, "Upstream service error 503"))));
+
+        client.post().uri("/api/v1/employees/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(reqs)
+                .exchange()
+                .expectStatus().isEqualTo(207)
+                .expectBody()
+                .jsonPath("$[0].employee.employee_name").isEqualTo("Alice")
+                .jsonPath("$[1].status").isEqualTo("FAILED")
+                .jsonPath("$[1].error").isEqualTo("Upstream service error 503");
+    }
+
+    @Test
+    void deleteEmployee_returnsName() {
+        Mockito.when(service.deleteById(sample.getId().toString())).thenReturn(Mono.just("Alice"));
+
+        client.delete().uri("/api/v1/employees/{id}", sample.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class).isEqualTo("Alice");
+        Mockito.verify(service, Mockito.never()).employeeById(any());
+    }
+
+    @Test
+    void deleteEmployee_returns404WhenNotFound() {
+        Mockito.when(service.deleteById(sample.getId().toString())).thenReturn(Mono.empty());
+
+        client.delete().uri("/api/v1/employees/{id}", sample.getId())
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Employee not found with ID: " + sample.getId());
+    }
+}
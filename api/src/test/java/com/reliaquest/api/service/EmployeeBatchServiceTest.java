@@ -0,0 +1,127 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.client.EmployeeApiClient;
+import com.reliaquest.api.exception.BadRequestException;
+import com.reliaquest.api.exception.UpstreamRateLimitedException;
+import com.reliaquest.api.model.BatchCreateResult;
+import com.reliaquest.api.model.CreateEmployeeRequest;
+import com.reliaquest.api.model.Employee;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeBatchServiceTest {
+
+    @Mock
+    private EmployeeApiClient employeeApiClient;
+
+    @Mock
+    private EmployeeSnapshotCache employeeSnapshotCache;
+
+    private EmployeeBatchService batchService;
+
+    @BeforeEach
+    void setUp() {
+        batchService = new EmployeeBatchService(employeeApiClient, employeeSnapshotCache,
+                Validation.buildDefaultValidatorFactory().getValidator(), 5, 2, 2);
+    }
+
+    @Test
+    void createAll_reportsInvalidEntriesAndSendsValidOnesInChunks() {
+        CreateEmployeeRequest alice = new CreateEmployeeRequest("Alice", 100000, 30, "Engineer");
+        CreateEmployeeRequest invalid = new CreateEmployeeRequest("", 0, 30, "Engineer");
+        CreateEmployeeRequest bob = new CreateEmployeeRequest("Bob", 120000, 35, "Manager");
+        CreateEmployeeRequest carol = new CreateEmployeeRequest("Carol", 90000, 28, "Developer");
+        when(employeeApiClient.createAll(anyList())).thenAnswer(invocation -> Mono.just(
+                invocation.<List<CreateEmployeeRequest>>getArgument(0).stream().map(this::created).toList()));
+
+        List<BatchCreateResult> results = batchService.createEmployees(List.of(alice, invalid, bob, carol));
+
+        assertThat(results).extracting(BatchCreateResult::getIndex).containsExactly(0, 1, 2, 3);
+        assertThat(results).extracting(BatchCreateResult::getStatus).containsExactly(
+                BatchCreateResult.Status.CREATED, BatchCreateResult.Status.INVALID,
+                BatchCreateResult.Status.CREATED, BatchCreateResult.Status.CREATED);
+        assertThat(results.get(1).getError()).isEqualTo("Name must not be blank; Salary must be greater than 0");
+        assertThat(results.get(3).getEmployee().getEmployee_name()).isEqualTo("Carol");
+        verify(employeeApiClient).createAll(List.of(alice, bob));
+        verify(employeeApiClient).createAll(List.of(carol));
+        verify(employeeSnapshotCache, times(2)).applyCreated(anyList());
+    }
+
+    @Test
+    void createAll_marksEveryEntryOfAFailedChunk() {
+        CreateEmployeeRequest alice = new CreateEmployeeRequest("Alice", 100000, 30, "Engineer");
+        CreateEmployeeRequest bob = new CreateEmployeeRequest("Bob", 120000, 35, "Manager");
+        CreateEmployeeRequest carol = new CreateEmployeeRequest("Carol", 90000, 28, "Developer");
+        when(employeeApiClient.createAll(List.of(alice, bob)))
+                .thenReturn(Mono.error(new UpstreamRateLimitedException(Duration.ofSeconds(30))));
+        when(employeeApiClient.createAll(List.of(carol))).thenReturn(Mono.just(List.of(created(carol))));
+
+        List<BatchCreateResult> results = batchService.createEmployees(List.of(alice, bob, carol));
+
+        assertThat(results).extracting(BatchCreateResult::getStatus).containsExactly(
+                BatchCreateResult.Status.FAILED, BatchCreateResult.Status.FAILED, BatchCreateResult.Status.CREATED);
+        assertThat(results.get(0).getError()).contains("retry after 30s");
+        verify(employeeSnapshotCache, times(1)).applyCreated(anyList());
+    }
+
+    @Test
+    void createAll_marksEntriesUnknownWhenTheAnswerWasLost() {
+        CreateEmployeeRequest alice = new CreateEmployeeRequest("Alice", 100000, 30, "Engineer");
+        CreateEmployeeRequest bob = new CreateEmployeeRequest("Bob", 120000, 35, "Manager");
+        CreateEmployeeRequest carol = new CreateEmployeeRequest("Carol", 90000, 28, "Developer");
+        when(employeeApiClient.createAll(List.of(alice, bob)))
+                .thenReturn(Mono.error(requestFailure(new IOException("Connection reset by peer"))));
+        when(employeeApiClient.createAll(List.of(carol)))
+                .thenReturn(Mono.error(requestFailure(new ConnectException("Connection refused"))));
+
+        List<BatchCreateResult> results = batchService.createEmployees(List.of(alice, bob, carol));
+
+        assertThat(results).extracting(BatchCreateResult::getStatus).containsExactly(
+                BatchCreateResult.Status.UNKNOWN, BatchCreateResult.Status.UNKNOWN, BatchCreateResult.Status.FAILED);
+        assertThat(results.get(0).getError()).contains("before retrying");
+        verify(employeeApiClient, times(2)).createAll(anyList());
+        verifyNoInteractions(employeeSnapshotCache);
+    }
+
+    @Test
+    void createAll_rejectsEmptyAndOversizedBatches() {
+        CreateEmployeeRequest alice = new CreateEmployeeRequest("Alice", 100000, 30, "Engineer");
+
+        assertThatThrownBy(() -> batchService.createEmployees(List.of()))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> batchService.createEmployees(List.of(alice, alice, alice, alice, alice, alice)))
+                .isInstanceOf(BadRequestException.class);
+        verifyNoInteractions(employeeApiClient);
+    }
+
+    private static WebClientRequestException requestFailure(Exception cause) {
+        return new WebClientRequestException(
+                cause, HttpMethod.POST, URI.create("http://localhost/batch"), HttpHeaders.EMPTY);
+    }
+
+    private Employee created(CreateEmployeeRequest request) {
+        return new Employee(UUID.randomUUID(), request.getName(), request.getSalary(), request.getAge(),
+                request.getTitle(), request.getName().toLowerCase() + "@company.com");
+    }
+}
@@ -0,0 +1,68 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.model.Employee;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EmployeeNameIndexTest {
+
+    private EmployeeNameIndex index;
+
+    private Employee emp1;
+    private Employee emp2;
+    private Employee emp3;
+
+    @BeforeEach
+    void setUp() {
+        index = new EmployeeNameIndex();
+
+        emp1 = new Employee(UUID.randomUUID(), "Alice Johnson", 100000, 30, "Engineer", "alice@company.com");
+        emp2 = new Employee(UUID.randomUUID(), "Bob Alison", 120000, 35, "Manager", "bob@company.com");
+        emp3 = new Employee(UUID.randomUUID(), "Charlie Brown", 90000, 28, "Developer", "charlie@company.com");
+        index.onSnapshot(List.of(emp1, emp2, emp3));
+    }
+
+    @Test
+    void search_matchesCaseInsensitiveSubstring() {
+        assertThat(index.search("ALI")).containsExactly(emp1, emp2);
+        assertThat(index.search("son")).containsExactly(emp1, emp2);
+        assertThat(index.search("brown")).containsExactly(emp3);
+    }
+
+    @Test
+    void search_verifiesCandidatesSharingTrigrams() {
+        // "alis lison" holds every trigram of "alison" without containing it.
+        Employee decoy = new Employee(UUID.randomUUID(), "Alis Lison", 70000, 22, "Analyst", "alis@company.com");
+        index.onCreated(decoy);
+
+        assertThat(index.search("alison")).containsExactly(emp2);
+    }
+
+    @Test
+    void search_shortFragmentFallsBackToScan() {
+        assertThat(index.search("b")).containsExactly(emp2, emp3);
+        assertThat(index.search("zz")).isEmpty();
+    }
+
+    @Test
+    void search_returnsEmptyForUnknownTrigram() {
+        assertThat(index.search("xyz")).isEmpty();
+    }
+
+    @Test
+    void onCreatedAndDeleted_updateIndex() {
+        Employee dave = new Employee(UUID.randomUUID(), "Dave Alinsky", 80000, 25, "Intern", "dave@company.com");
+
+        index.onCreated(dave);
+        assertThat(index.search("alin")).containsExactly(dave);
+
+        index.onDeleted(dave);
+        assertThat(index.search("alin")).isEmpty();
+        assertThat(index.search("ali")).containsExactly(emp1, emp2);
+    }
+}
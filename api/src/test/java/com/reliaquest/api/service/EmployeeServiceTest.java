@@ -1,18 +1,23 @@
 package com.reliaquest.api.service;
 
 import com.reliaquest.api.client.EmployeeApiClient;
+import com.reliaquest.api.client.EmployeeListing;
+import com.reliaquest.api.exception.BadRequestException;
 import com.reliaquest.api.model.CreateEmployeeRequest;
 import com.reliaquest.api.model.Employee;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
 
+import java.time.Clock;
+import java.time.Duration;
 import java.util.List;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.*;
 
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -23,7 +28,6 @@ class EmployeeServiceTest {
     @Mock
     private EmployeeApiClient employeeApiClient;
 
-    @InjectMocks
     private EmployeeService employeeService;
 
     private Employee emp1;
@@ -32,6 +36,12 @@ class EmployeeServiceTest {
 
     @BeforeEach
     void setUp() {
+        SalaryAggregates salaryAggregates = new SalaryAggregates();
+        EmployeeNameIndex employeeNameIndex = new EmployeeNameIndex();
+        EmployeeSnapshotCache cache = new EmployeeSnapshotCache(employeeApiClient,
+                List.of(salaryAggregates, employeeNameIndex), false, Duration.ZERO, Clock.systemUTC());
+        employeeService = new EmployeeService(employeeApiClient, cache, salaryAggregates, employeeNameIndex);
+
         emp1 = new Employee(UUID.randomUUID(), "Alice", 100000, 30, "Engineer", "alice@company.com");
         emp2 = new Employee(UUID.randomUUID(), "Bob", 120000, 35, "Manager", "bob@company.com");
         emp3 = new Employee(UUID.randomUUID(), "Charlie", 90000, 28, "Developer", "charlie@company.com");
@@ -39,27 +49,27 @@ class EmployeeServiceTest {
 
     @Test
     void getAllEmployees_returnsList() {
-        when(employeeApiClient.getAllEmployees()).thenReturn(List.of(emp1, emp2));
+        stubListing(emp1, emp2);
 
         List<Employee> result = employeeService.getAllEmployees();
 
         assertThat(result).containsExactly(emp1, emp2);
-        verify(employeeApiClient).getAllEmployees();
+        verify(employeeApiClient).listing();
     }
 
     @Test
     void getEmployeeById_returnsEmployee() {
-        when(employeeApiClient.getEmployeeById("1")).thenReturn(emp1);
+        when(employeeApiClient.employeeById("1")).thenReturn(Mono.just(emp1));
 
         Employee result = employeeService.getEmployeeById("1");
 
         assertThat(result).isEqualTo(emp1);
-        verify(employeeApiClient).getEmployeeById("1");
+        verify(employeeApiClient).employeeById("1");
     }
 
     @Test
     void searchEmployeesByName_filtersCorrectly() {
-        when(employeeApiClient.getAllEmployees()).thenReturn(List.of(emp1, emp2, emp3));
+        stubListing(emp1, emp2, emp3);
 
         List<Employee> result = employeeService.searchEmployeesByName("ali");
 
@@ -68,7 +78,7 @@ class EmployeeServiceTest {
 
     @Test
     void getHighestSalary_returnsMaxSalary() {
-        when(employeeApiClient.getAllEmployees()).thenReturn(List.of(emp1, emp2, emp3));
+        stubListing(emp1, emp2, emp3);
 
         int result = employeeService.getHighestSalary();
 
@@ -77,7 +87,7 @@ class EmployeeServiceTest {
 
     @Test
     void getTop10HighestEarningEmployeeNames_returnsSortedNames() {
-        when(employeeApiClient.getAllEmployees()).thenReturn(List.of(emp1, emp2, emp3));
+        stubListing(emp1, emp2, emp3);
 
         List<String> result = employeeService.getTop10HighestEarningEmployeeNames();
 
@@ -89,21 +99,67 @@ class EmployeeServiceTest {
         CreateEmployeeRequest request = new CreateEmployeeRequest("Dave", 80000, 25, "Intern");
         Employee created = new Employee(UUID.randomUUID(), "Dave", 80000, 25, "Intern", "dave@company.com");
 
-        when(employeeApiClient.createEmployee(request)).thenReturn(created);
+        when(employeeApiClient.create(request)).thenReturn(Mono.just(created));
 
         Employee result = employeeService.createEmployee(request);
 
         assertThat(result).isEqualTo(created);
-        verify(employeeApiClient).createEmployee(request);
+        verify(employeeApiClient).create(request);
     }
 
     @Test
-    void deleteEmployeeByName_delegatesToApiClient() {
-        when(employeeApiClient.deleteEmployeeByName(emp1)).thenReturn("Alice");
+    void deleteEmployeeById_deletesWithOneUpstreamCall() {
+        when(employeeApiClient.deleteById(emp1.getId().toString())).thenReturn(Mono.just(emp1));
 
-        String result = employeeService.deleteEmployeeByName(emp1);
+        String result = employeeService.deleteEmployeeById(emp1.getId().toString());
 
         assertThat(result).isEqualTo("Alice");
-        verify(employeeApiClient).deleteEmployeeByName(emp1);
+        verify(employeeApiClient).deleteById(emp1.getId().toString());
+        verifyNoMoreInteractions(employeeApiClient);
+    }
+
+    @Test
+    void deleteEmployeeById_returnsNullWhenUnknown() {
+        String id = UUID.randomUUID().toString();
+        when(employeeApiClient.deleteById(id)).thenReturn(Mono.empty());
+
+        assertThat(employeeService.deleteEmployeeById(id)).isNull();
+    }
+
+    @Test
+    void deleteEmployeeById_rejectsMalformedIdWithoutUpstreamCall() {
+        assertThatThrownBy(() -> employeeService.deleteEmployeeById("not-a-uuid"))
+                .isInstanceOf(BadRequestException.class);
+        verifyNoInteractions(employeeApiClient);
+    }
+
+    @Test
+    void cachedReads_shareOneUpstreamFetchAndSeeLocalWrites() {
+        SalaryAggregates salaryAggregates = new SalaryAggregates();
+        EmployeeNameIndex employeeNameIndex = new EmployeeNameIndex();
+        EmployeeSnapshotCache cache = new EmployeeSnapshotCache(employeeApiClient,
+                List.of(salaryAggregates, employeeNameIndex), true, Duration.ofMinutes(1), Clock.systemUTC());
+        EmployeeService cached = new EmployeeService(employeeApiClient, cache, salaryAggregates, employeeNameIndex);
+
+        CreateEmployeeRequest request = new CreateEmployeeRequest("Alina", 150000, 45, "Director");
+        Employee alina = new Employee(UUID.randomUUID(), "Alina", 150000, 45, "Director", "alina@company.com");
+        when(employeeApiClient.listing())
+                .thenReturn(Mono.just(new EmployeeListing(null, null, List.of(emp1, emp2, emp3))));
+        when(employeeApiClient.create(request)).thenReturn(Mono.just(alina));
+
+        assertThat(cached.searchEmployeesByName("ali")).containsExactly(emp1);
+        assertThat(cached.getHighestSalary()).isEqualTo(120000);
+
+        cached.createEmployee(request);
+
+        assertThat(cached.searchEmployeesByName("ali")).containsExactly(emp1, alina);
+        assertThat(cached.getHighestSalary()).isEqualTo(150000);
+        assertThat(cached.getTop10HighestEarningEmployeeNames()).containsExactly("Alina", "Bob", "Alice", "Charlie");
+        verify(employeeApiClient, times(1)).listing();
+        verify(employeeApiClient, never()).streamEmployees();
+    }
+
+    private void stubListing(Employee... employees) {
+        when(employeeApiClient.listing()).thenReturn(Mono.just(new EmployeeListing(null, null, List.of(employees))));
     }
 }
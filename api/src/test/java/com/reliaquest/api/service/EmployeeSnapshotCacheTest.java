@@ -0,0 +1,325 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.client.EmployeeApiClient;
+import com.reliaquest.api.client.EmployeeChange;
+import com.reliaquest.api.client.EmployeeChanges;
+import com.reliaquest.api.client.EmployeeListing;
+import com.reliaquest.api.client.ListVersion;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.support.MutableClock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import reactor.core.publisher.Mono;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeSnapshotCacheTest {
+
+    @Mock
+    private EmployeeApiClient employeeApiClient;
+
+    @TempDir
+    private Path tempDir;
+
+    private MutableClock clock;
+    private EmployeeSnapshotCache cache;
+
+    private Employee emp1;
+    private Employee emp2;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2024-01-01T00:00:00Z"));
+        cache = new EmployeeSnapshotCache(employeeApiClient, List.of(), true, Duration.ofSeconds(30), clock);
+
+        emp1 = new Employee(UUID.randomUUID(), "Alice", 100000, 30, "Engineer", "alice@company.com");
+        emp2 = new Employee(UUID.randomUUID(), "Bob", 120000, 35, "Manager", "bob@company.com");
+    }
+
+    @Test
+    void getEmployees_servesFromMemoryWithinTtl() {
+        when(employeeApiClient.listing()).thenReturn(Mono.just(listing(null, emp1)));
+
+        cache.getEmployees();
+        clock.advance(Duration.ofSeconds(10));
+        List<Employee> result = cache.getEmployees();
+
+        assertThat(result).containsExactly(emp1);
+        verify(employeeApiClient, times(1)).listing();
+    }
+
+    @Test
+    void getEmployees_servesStaleSnapshotWhileRefreshing() {
+        when(employeeApiClient.listing())
+                .thenReturn(Mono.just(listing(null, emp1)), Mono.just(listing(null, emp1, emp2)));
+
+        cache.getEmployees();
+        clock.advance(Duration.ofSeconds(31));
+        List<Employee> stale = cache.getEmployees();
+
+        assertThat(stale).containsExactly(emp1);
+        verify(employeeApiClient, timeout(1000).times(2)).listing();
+    }
+
+    @Test
+    void invalidate_forcesReloadOnNextRead() {
+        when(employeeApiClient.listing())
+                .thenReturn(Mono.just(listing(null, emp1)), Mono.just(listing(null, emp1, emp2)));
+
+        cache.getEmployees();
+        cache.invalidate();
+        List<Employee> result = cache.getEmployees();
+
+        assertThat(result).containsExactly(emp1, emp2);
+        verify(employeeApiClient, times(2)).listing();
+    }
+
+    @Test
+    void applyCreatedAndDeleted_updateSnapshotInPlace() {
+        when(employeeApiClient.listing()).thenReturn(Mono.just(listing(null, emp1)));
+
+        cache.getEmployees();
+        cache.applyCreated(emp2);
+        assertThat(cache.getEmployees()).containsExactly(emp1, emp2);
+
+        cache.applyDeleted(emp1);
+        assertThat(cache.getEmployees()).containsExactly(emp2);
+        verify(employeeApiClient, times(1)).listing();
+    }
+
+    @Test
+    void applyCreatedBatch_appendsAllAndNotifiesEach() {
+        EmployeeSnapshotListener listener = mock(EmployeeSnapshotListener.class);
+        EmployeeSnapshotCache observed =
+                new EmployeeSnapshotCache(employeeApiClient, List.of(listener), true, Duration.ofSeconds(30), clock);
+        Employee emp3 = new Employee(UUID.randomUUID(), "Cleo", 98000, 39, "Lead", "cleo@company.com");
+        when(employeeApiClient.listing()).thenReturn(Mono.just(listing(null, emp1)));
+
+        observed.getEmployees();
+        observed.applyCreated(List.of(emp2, emp3));
+
+        assertThat(observed.getEmployees()).containsExactly(emp1, emp2, emp3);
+        verify(listener).onCreated(emp2);
+        verify(listener).onCreated(emp3);
+    }
+
+    @Test
+    void listenersReceiveSnapshotAndMutations() {
+        EmployeeSnapshotListener listener = mock(EmployeeSnapshotListener.class);
+        EmployeeSnapshotCache observed =
+                new EmployeeSnapshotCache(employeeApiClient, List.of(listener), true, Duration.ofSeconds(30), clock);
+        when(employeeApiClient.listing()).thenReturn(Mono.just(listing(null, emp1)));
+
+        observed.getEmployees();
+        observed.applyCreated(emp2);
+        observed.applyDeleted(emp1);
+
+        verify(listener).onSnapshot(List.of(emp1));
+        verify(listener).onCreated(emp2);
+        verify(listener).onDeleted(emp1);
+    }
+
+    @Test
+    void revalidatedListRestartsTtlWithoutRebuildingListeners() {
+        EmployeeSnapshotListener listener = mock(EmployeeSnapshotListener.class);
+        EmployeeSnapshotCache observed =
+                new EmployeeSnapshotCache(employeeApiClient, List.of(listener), true, Duration.ofSeconds(30), clock);
+        EmployeeListing upstream = listing(null, emp1);
+        when(employeeApiClient.listing()).thenReturn(Mono.just(upstream));
+
+        observed.getEmployees();
+        clock.advance(Duration.ofSeconds(31));
+        observed.getEmployees();
+        verify(employeeApiClient, timeout(1000).times(2)).listing();
+        clock.advance(Duration.ofSeconds(10));
+        observed.getEmployees();
+
+        verify(listener, times(1)).onSnapshot(upstream.employees());
+        verify(employeeApiClient, times(2)).listing();
+    }
+
+    @Test
+    void refresh_replaysUpstreamChangesThroughListeners() {
+        EmployeeSnapshotListener listener = mock(EmployeeSnapshotListener.class);
+        EmployeeSnapshotCache observed =
+                new EmployeeSnapshotCache(employeeApiClient, List.of(listener), true, Duration.ofSeconds(30), clock);
+        ListVersion v5 = new ListVersion("epoch", 5);
+        when(employeeApiClient.listing()).thenReturn(Mono.just(listing(v5, emp1)));
+        when(employeeApiClient.changesSince(v5)).thenReturn(Mono.just(new EmployeeChanges(new ListVersion("epoch", 7),
+                List.of(change(EmployeeChange.Type.CREATED, emp2), change(EmployeeChange.Type.DELETED, emp1)))));
+
+        observed.getEmployees();
+        clock.advance(Duration.ofSeconds(31));
+        observed.getEmployees();
+        verify(employeeApiClient, timeout(1000)).changesSince(v5);
+
+        assertThat(observed.getEmployees()).containsExactly(emp2);
+        verify(listener, times(1)).onSnapshot(any());
+        verify(listener).onCreated(emp2);
+        verify(listener).onDeleted(emp1);
+        verify(employeeApiClient, times(1)).listing();
+    }
+
+    @Test
+    void refresh_skipsUpstreamChangesAlreadyAppliedLocally() {
+        EmployeeSnapshotListener listener = mock(EmployeeSnapshotListener.class);
+        EmployeeSnapshotCache observed =
+                new EmployeeSnapshotCache(employeeApiClient, List.of(listener), true, Duration.ofSeconds(30), clock);
+        ListVersion v5 = new ListVersion("epoch", 5);
+        when(employeeApiClient.listing()).thenReturn(Mono.just(listing(v5, emp1)));
+        when(employeeApiClient.changesSince(v5)).thenReturn(Mono.just(new EmployeeChanges(new ListVersion("epoch", 6),
+                List.of(change(EmployeeChange.Type.CREATED, emp2)))));
+
+        observed.getEmployees();
+        observed.applyCreated(emp2);
+        clock.advance(Duration.ofSeconds(31));
+        observed.getEmployees();
+        verify(employeeApiClient, timeout(1000)).changesSince(v5);
+
+        assertThat(observed.getEmployees()).containsExactly(emp1, emp2);
+        verify(listener, times(1)).onCreated(emp2);
+    }
+
+    @Test
+    void refresh_reloadsFullListWhenChangesCannotBeReplayed() {
+        ListVersion v5 = new ListVersion("epoch", 5);
+        when(employeeApiClient.listing()).thenReturn(
+                Mono.just(listing(v5, emp1)), Mono.just(listing(new ListVersion("epoch", 9), emp1, emp2)));
+        when(employeeApiClient.changesSince(v5)).thenReturn(Mono.empty());
+
+        cache.getEmployees();
+        clock.advance(Duration.ofSeconds(31));
+        cache.getEmployees();
+        verify(employeeApiClient, timeout(1000).times(2)).listing();
+
+        assertThat(cache.getEmployees()).containsExactly(emp1, emp2);
+    }
+
+    @Test
+    void refresh_reloadsFullListWhenChangeFeedDisabled() {
+        EmployeeSnapshotCache full = new EmployeeSnapshotCache(
+                employeeApiClient, List.of(), true, Duration.ofSeconds(30), false, clock);
+        when(employeeApiClient.listing()).thenReturn(
+                Mono.just(listing(new ListVersion("epoch", 5), emp1)),
+                Mono.just(listing(new ListVersion("epoch", 6), emp1, emp2)));
+
+        full.getEmployees();
+        clock.advance(Duration.ofSeconds(31));
+        full.getEmployees();
+        verify(employeeApiClient, timeout(1000).times(2)).listing();
+
+        assertThat(full.getEmployees()).containsExactly(emp1, emp2);
+        verify(employeeApiClient, never()).changesSince(any());
+    }
+
+    @Test
+    void warmStart_servesSavedSnapshotWhileUpstreamIsUnavailable() throws Exception {
+        EmployeeSnapshotFile file = snapshotFile();
+        ListVersion v5 = new ListVersion("epoch", 5);
+        file.write(v5, List.of(emp1, emp2));
+        when(employeeApiClient.changesSince(v5)).thenReturn(Mono.error(new IllegalStateException("429")));
+        EmployeeSnapshotCache warm = new EmployeeSnapshotCache(
+                employeeApiClient, List.of(), true, Duration.ofSeconds(30), true, file, clock);
+
+        warm.warmStart();
+
+        assertThat(warm.getEmployees()).containsExactly(emp1, emp2);
+        verify(employeeApiClient, timeout(1000).atLeastOnce()).changesSince(v5);
+        verify(employeeApiClient, never()).listing();
+    }
+
+    @Test
+    void warmStart_catchesUpFromSavedVersionAndSavesOnClose() throws Exception {
+        EmployeeSnapshotListener listener = mock(EmployeeSnapshotListener.class);
+        EmployeeSnapshotFile file = snapshotFile();
+        ListVersion v5 = new ListVersion("epoch", 5);
+        ListVersion v6 = new ListVersion("epoch", 6);
+        file.write(v5, List.of(emp1));
+        when(employeeApiClient.changesSince(v5)).thenReturn(
+                Mono.just(new EmployeeChanges(v6, List.of(change(EmployeeChange.Type.CREATED, emp2)))));
+        EmployeeSnapshotCache warm = new EmployeeSnapshotCache(
+                employeeApiClient, List.of(listener), true, Duration.ofSeconds(30), true, file, clock);
+
+        warm.warmStart();
+        verify(listener).onSnapshot(List.of(emp1));
+        verify(listener, timeout(1000)).onCreated(emp2);
+        warm.close();
+
+        EmployeeListing saved = file.read().orElseThrow();
+        assertThat(saved.version()).isEqualTo(v6);
+        assertThat(saved.employees()).containsExactly(emp1, emp2);
+    }
+
+    @Test
+    void warmStart_loadsFromUpstreamWhenSavedSnapshotIsUnreadable() throws Exception {
+        EmployeeSnapshotFile file = snapshotFile();
+        Files.writeString(file.path(), "{\"employees\": [");
+        when(employeeApiClient.listing()).thenReturn(Mono.just(listing(null, emp1)));
+        EmployeeSnapshotCache warm = new EmployeeSnapshotCache(
+                employeeApiClient, List.of(), true, Duration.ofSeconds(30), true, file, clock);
+
+        warm.warmStart();
+
+        assertThat(warm.getEmployees()).containsExactly(emp1);
+        verify(employeeApiClient, times(1)).listing();
+        warm.close();
+        assertThat(file.read().orElseThrow().employees()).containsExactly(emp1);
+    }
+
+    @Test
+    void warmStart_startsColdWhenSavedSnapshotIsTooOld() throws Exception {
+        EmployeeSnapshotFile file = snapshotFile();
+        file.write(new ListVersion("epoch", 5), List.of(emp1, emp2));
+        clock.advance(Duration.ofHours(2));
+        when(employeeApiClient.listing()).thenReturn(Mono.just(listing(null, emp1)));
+        EmployeeSnapshotCache warm = new EmployeeSnapshotCache(
+                employeeApiClient, List.of(), true, Duration.ofSeconds(30), true, file, clock);
+
+        warm.warmStart();
+
+        assertThat(warm.getEmployees()).containsExactly(emp1);
+        verify(employeeApiClient, never()).changesSince(any());
+    }
+
+    @Test
+    void getEmployees_delegatesWhenDisabled() {
+        EmployeeSnapshotCache disabled =
+                new EmployeeSnapshotCache(employeeApiClient, List.of(), false, Duration.ofSeconds(30), clock);
+        when(employeeApiClient.listing()).thenReturn(Mono.just(listing(null, emp1)));
+
+        disabled.getEmployees();
+        disabled.getEmployees();
+
+        verify(employeeApiClient, times(2)).listing();
+    }
+
+    private EmployeeSnapshotFile snapshotFile() {
+        return new EmployeeSnapshotFile(Jackson2ObjectMapperBuilder.json().build(), tempDir.resolve("snapshot.json"),
+                Duration.ofHours(1), clock);
+    }
+
+    private static EmployeeListing listing(ListVersion version, Employee... employees) {
+        return new EmployeeListing(null, version, List.of(employees));
+    }
+
+    private static EmployeeChange change(EmployeeChange.Type type, Employee employee) {
+        EmployeeChange change = new EmployeeChange();
+        change.setType(type);
+        change.setEmployee(employee);
+        return change;
+    }
+}
@@ -0,0 +1,96 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.client.EmployeeListing;
+import com.reliaquest.api.client.ListVersion;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.support.MutableClock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class EmployeeSnapshotFileTest {
+
+    @TempDir
+    private Path tempDir;
+
+    private MutableClock clock;
+    private EmployeeSnapshotFile file;
+
+    private Employee emp1;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2024-01-01T00:00:00Z"));
+        file = new EmployeeSnapshotFile(Jackson2ObjectMapperBuilder.json().build(), tempDir.resolve("snapshot.json"),
+                Duration.ofHours(1), clock);
+        emp1 = new Employee(UUID.randomUUID(), "Alice", 100000, 30, "Engineer", "alice@company.com");
+    }
+
+    @Test
+    void read_returnsWhatWasWritten() throws Exception {
+        ListVersion v5 = new ListVersion("epoch", 5);
+        file.write(v5, List.of(emp1));
+        clock.advance(Duration.ofMinutes(59));
+
+        EmployeeListing listing = file.read().orElseThrow();
+
+        assertThat(listing.version()).isEqualTo(v5);
+        assertThat(listing.employees()).containsExactly(emp1);
+    }
+
+    @Test
+    void read_ignoresSnapshotOlderThanMaxAge() throws Exception {
+        file.write(new ListVersion("epoch", 5), List.of(emp1));
+        clock.advance(Duration.ofMinutes(61));
+
+        assertThat(file.read()).isEmpty();
+    }
+
+    @Test
+    void read_ignoresSnapshotWithoutSaveTime() throws Exception {
+        Files.writeString(file.path(), "{\"version\": {\"epoch\": \"epoch\", \"version\": 5}, \"employees\": []}");
+
+        assertThat(file.read()).isEmpty();
+    }
+
+    @Test
+    void read_treatsMissingFileAsAbsent() {
+        assertThat(file.read()).isEmpty();
+    }
+
+    @Test
+    void write_leavesOnlyTheOwnerReadableFile() throws Exception {
+        assumeTrue(tempDir.getFileSystem().supportedFileAttributeViews().contains("posix"));
+
+        file.write(new ListVersion("epoch", 5), List.of(emp1));
+
+        assertThat(PosixFilePermissions.toString(Files.getPosixFilePermissions(file.path()))).isEqualTo("rw-------");
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertThat(files.toList()).containsExactly(file.path());
+        }
+    }
+
+    @Test
+    void write_doesNotFollowFilePlantedAtTemporaryName() throws Exception {
+        Path target = Files.writeString(tempDir.resolve("target"), "unchanged");
+        Files.createSymbolicLink(tempDir.resolve("snapshot.json.tmp"), target);
+
+        file.write(new ListVersion("epoch", 5), List.of(emp1));
+
+        assertThat(Files.readString(target)).isEqualTo("unchanged");
+        assertThat(file.read().orElseThrow().employees()).containsExactly(emp1);
+    }
+}
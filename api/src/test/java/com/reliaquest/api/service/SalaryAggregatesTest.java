@@ -0,0 +1,97 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.model.Employee;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SalaryAggregatesTest {
+
+    private SalaryAggregates aggregates;
+
+    private Employee emp1;
+    private Employee emp2;
+    private Employee emp3;
+
+    @BeforeEach
+    void setUp() {
+        aggregates = new SalaryAggregates();
+
+        emp1 = new Employee(UUID.randomUUID(), "Alice", 100000, 30, "Engineer", "alice@company.com");
+        emp2 = new Employee(UUID.randomUUID(), "Bob", 120000, 35, "Manager", "bob@company.com");
+        emp3 = new Employee(UUID.randomUUID(), "Charlie", 90000, 28, "Developer", "charlie@company.com");
+    }
+
+    @Test
+    void emptyAggregates_reportNothing() {
+        assertThat(aggregates.getHighestSalary()).isZero();
+        assertThat(aggregates.getTopEarnerNames(10)).isEmpty();
+    }
+
+    @Test
+    void onSnapshot_ordersBySalaryDescending() {
+        aggregates.onSnapshot(List.of(emp1, emp2, emp3));
+
+        assertThat(aggregates.getHighestSalary()).isEqualTo(120000);
+        assertThat(aggregates.getTopEarnerNames(10)).containsExactly("Bob", "Alice", "Charlie");
+        assertThat(aggregates.getTopEarnerNames(2)).containsExactly("Bob", "Alice");
+    }
+
+    @Test
+    void onCreated_promotesNewTopEarner() {
+        aggregates.onSnapshot(List.of(emp1, emp3));
+        Employee dave = new Employee(UUID.randomUUID(), "Dave", 150000, 40, "Director", "dave@company.com");
+
+        aggregates.onCreated(dave);
+
+        assertThat(aggregates.getHighestSalary()).isEqualTo(150000);
+        assertThat(aggregates.getTopEarnerNames(10)).containsExactly("Dave", "Alice", "Charlie");
+    }
+
+    @Test
+    void onDeleted_fallsBackToNextHighest() {
+        aggregates.onSnapshot(List.of(emp1, emp2, emp3));
+
+        aggregates.onDeleted(emp2);
+
+        assertThat(aggregates.getHighestSalary()).isEqualTo(100000);
+        assertThat(aggregates.getTopEarnerNames(10)).containsExactly("Alice", "Charlie");
+    }
+
+    @Test
+    void onSnapshot_replacesPreviousState() {
+        aggregates.onSnapshot(List.of(emp1, emp2));
+
+        aggregates.onSnapshot(List.of(emp3));
+
+        assertThat(aggregates.getHighestSalary()).isEqualTo(90000);
+        assertThat(aggregates.getTopEarnerNames(10)).containsExactly("Charlie");
+    }
+
+    @Test
+    void equalSalaries_keepListOrder() {
+        Employee erin = new Employee(UUID.randomUUID(), "Erin", 100000, 31, "Engineer", "erin@company.com");
+        Employee finn = new Employee(UUID.randomUUID(), "Finn", 100000, 29, "Engineer", "finn@company.com");
+        aggregates.onSnapshot(List.of(erin, emp3, emp1));
+
+        aggregates.onCreated(finn);
+
+        assertThat(aggregates.getTopEarnerNames(10)).containsExactly("Erin", "Alice", "Finn", "Charlie");
+        assertThat(aggregates.getTopEarnerNames(2)).containsExactly("Erin", "Alice");
+    }
+
+    @Test
+    void topEarnerNames_keepsStreamOrderForEqualSalaries() {
+        Employee erin = new Employee(UUID.randomUUID(), "Erin", 100000, 31, "Engineer", "erin@company.com");
+        Employee finn = new Employee(UUID.randomUUID(), "Finn", 100000, 29, "Engineer", "finn@company.com");
+
+        List<String> names = SalaryAggregates.topEarnerNames(Flux.just(erin, emp3, emp1, finn, emp2), 3).block();
+
+        assertThat(names).containsExactly("Bob", "Erin", "Alice");
+    }
+}
@@ -0,0 +1,30 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.server.data.MockEmployeeGenerator;
+import com.reliaquest.server.model.MockEmployee;
+import java.util.List;
+
+/**
+ * Reproducible data sets shared by the benchmarks, built with the mock server's own generator and a fixed seed.
+ */
+final class BenchmarkData {
+
+    static final long SEED = 42L;
+
+    private BenchmarkData() {}
+
+    static List<MockEmployee> mockEmployees(int size) {
+        return new MockEmployeeGenerator(SEED).generate(size);
+    }
+
+    static Employee toEmployee(MockEmployee employee) {
+        return new Employee(
+                employee.getId(),
+                employee.getName(),
+                employee.getSalary(),
+                employee.getAge(),
+                employee.getTitle(),
+                employee.getEmail());
+    }
+}
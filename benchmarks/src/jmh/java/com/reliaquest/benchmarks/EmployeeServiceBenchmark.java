@@ -0,0 +1,130 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.api.client.EmployeeApiClient;
+import com.reliaquest.api.client.EmployeeStreamDecoder;
+import com.reliaquest.api.client.UpstreamBudget;
+import com.reliaquest.api.client.UpstreamMetrics;
+import com.reliaquest.api.client.UpstreamPaging;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.EmployeeNameIndex;
+import com.reliaquest.api.service.EmployeeService;
+import com.reliaquest.api.service.EmployeeSnapshotCache;
+import com.reliaquest.api.service.SalaryAggregates;
+import com.reliaquest.server.model.Response;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Search, highest salary and top-10 through {@link EmployeeService}, both against the warmed snapshot cache with its
+ * indexes ({@code cached=true}) and reading the upstream list on every call ({@code cached=false}). The real
+ * {@link EmployeeApiClient} talks to an in-memory upstream through a stub {@link ExchangeFunction}: the first read
+ * decodes the list, and later reads revalidate it with its ETag, as against the mock server when nothing has changed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EmployeeServiceBenchmark {
+
+    private static final String ETAG = "\"benchmark\"";
+
+    @Param({"50", "10000", "100000"})
+    private int size;
+
+    @Param({"true", "false"})
+    private boolean cached;
+
+    private EmployeeService employeeService;
+    private String fragment;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        final var mockEmployees = BenchmarkData.mockEmployees(size);
+        final var objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        final var body = objectMapper.writeValueAsBytes(Response.handledWith(mockEmployees));
+        final var client = new EmployeeApiClient(
+                WebClient.builder().exchangeFunction(upstream(body)).build(),
+                new UpstreamBudget(
+                        Integer.MAX_VALUE,
+                        Duration.ofSeconds(1),
+                        Duration.ofSeconds(30),
+                        Duration.ofSeconds(90),
+                        0,
+                        Duration.ofMillis(100),
+                        Duration.ofSeconds(1)),
+                new EmployeeStreamDecoder(objectMapper),
+                new UpstreamPaging(0, 1),
+                new UpstreamMetrics(new SimpleMeterRegistry()));
+        final var salaryAggregates = new SalaryAggregates();
+        final var employeeNameIndex = new EmployeeNameIndex();
+        final var cache = new EmployeeSnapshotCache(
+                client,
+                List.of(salaryAggregates, employeeNameIndex),
+                cached,
+                Duration.ofDays(1),
+                false,
+                "",
+                Duration.ZERO,
+                null);
+        employeeService = new EmployeeService(client, cache, salaryAggregates, employeeNameIndex);
+        employeeService.getAllEmployees();
+
+        final var name = mockEmployees.get(mockEmployees.size() / 2).getName();
+        fragment = name.substring(0, Math.min(5, name.length()));
+    }
+
+    @Benchmark
+    public List<Employee> searchByName() {
+        return employeeService.searchEmployeesByName(fragment);
+    }
+
+    @Benchmark
+    public int highestSalary() {
+        return employeeService.getHighestSalary();
+    }
+
+    @Benchmark
+    public List<String> top10HighestEarningEmployeeNames() {
+        return employeeService.getTop10HighestEarningEmployeeNames();
+    }
+
+    /*
+     * Answers like the mock server does: the full list with its ETag, or a 304 when the request revalidates that ETag.
+     * Each response wraps the same serialized body, so no request pays for encoding it.
+     */
+    private static ExchangeFunction upstream(byte[] body) {
+        return request -> {
+            if (ETAG.equals(request.headers().getFirst(HttpHeaders.IF_NONE_MATCH))) {
+                return Mono.just(ClientResponse.create(HttpStatus.NOT_MODIFIED)
+                        .header(HttpHeaders.ETAG, ETAG)
+                        .build());
+            }
+            return Mono.just(ClientResponse.create(HttpStatus.OK)
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .header(HttpHeaders.ETAG, ETAG)
+                    .body(Flux.defer(() -> Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(body))))
+                    .build());
+        };
+    }
+}
@@ -0,0 +1,81 @@
+package com.reliaquest.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.client.ApiResponseList;
+import com.reliaquest.api.client.EmployeeStreamDecoder;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.Response;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import reactor.core.publisher.Flux;
+
+/**
+ * JSON cost on both sides of the upstream call: the server writing its {@code employee_}-prefixed list envelope, and
+ * the API reading it back either as a whole {@link ApiResponseList} or through the streaming decoder.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JsonBenchmark {
+
+    private static final int CHUNK_SIZE = 8192;
+
+    @Param({"50", "10000", "100000"})
+    private int size;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private Response<List<MockEmployee>> serverResponse;
+    private List<Employee> employees;
+    private byte[] body;
+    private EmployeeStreamDecoder decoder;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        final var mockEmployees = BenchmarkData.mockEmployees(size);
+        serverResponse = Response.handledWith(mockEmployees);
+        employees = mockEmployees.stream().map(BenchmarkData::toEmployee).toList();
+        body = objectMapper.writeValueAsBytes(serverResponse);
+        decoder = new EmployeeStreamDecoder(objectMapper);
+    }
+
+    @Benchmark
+    public byte[] serializeMockEmployees() throws IOException {
+        return objectMapper.writeValueAsBytes(serverResponse);
+    }
+
+    @Benchmark
+    public byte[] serializeEmployees() throws IOException {
+        return objectMapper.writeValueAsBytes(employees);
+    }
+
+    @Benchmark
+    public ApiResponseList deserializeApiResponseList() throws IOException {
+        return objectMapper.readValue(body, ApiResponseList.class);
+    }
+
+    @Benchmark
+    public long streamDecodeEmployees() {
+        return decoder.decode(chunks()).count().block();
+    }
+
+    private Flux<DataBuffer> chunks() {
+        return Flux.range(0, (body.length + CHUNK_SIZE - 1) / CHUNK_SIZE)
+                .map(chunk -> DefaultDataBufferFactory.sharedInstance.wrap(
+                        body, chunk * CHUNK_SIZE, Math.min(CHUNK_SIZE, body.length - chunk * CHUNK_SIZE)));
+    }
+}
@@ -0,0 +1,74 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.MockEmployeeService;
+import com.reliaquest.server.store.ColumnarEmployeeStore;
+import com.reliaquest.server.store.EmployeeStore;
+import com.reliaquest.server.store.IndexedEmployeeStore;
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import net.datafaker.Faker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Mock server lookups by id and deletes by name. {@link MockEmployeeService#delete} only reports whether something was
+ * removed, and names repeat, so the delete benchmark goes to the store the service delegates to and re-inserts exactly
+ * the employee it removed. The store keeps its size across iterations, and {@code deleteByName} measures a delete
+ * plus an insert. Both store layouts are measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MockEmployeeServiceBenchmark {
+
+    @Param({"50", "10000", "100000"})
+    private int size;
+
+    @Param({"indexed", "columnar"})
+    private String store;
+
+    private EmployeeStore employeeStore;
+    private MockEmployeeService mockEmployeeService;
+    private List<MockEmployee> employees;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        employees = BenchmarkData.mockEmployees(size);
+        employeeStore = "columnar".equals(store)
+                ? new ColumnarEmployeeStore(employees)
+                : new IndexedEmployeeStore(employees);
+        mockEmployeeService = new MockEmployeeService(new Faker(), employeeStore);
+    }
+
+    @Benchmark
+    public Optional<MockEmployee> findById(Cursor cursor) {
+        return mockEmployeeService.findById(employees.get(cursor.next(size)).getId());
+    }
+
+    @Benchmark
+    public Optional<MockEmployee> deleteByName(Cursor cursor) {
+        final var deleted = employeeStore.deleteByName(employees.get(cursor.next(size)).getName());
+        deleted.ifPresent(employeeStore::insert);
+        return deleted;
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+
+        private final SplittableRandom random = new SplittableRandom(BenchmarkData.SEED);
+
+        int next(int bound) {
+            return random.nextInt(bound);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.reliaquest.loadtest;
+
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+/**
+ * Latency histogram and status breakdown for one operation. Latency runs from the request's scheduled start, not from
+ * when it was actually sent, so a stalled system is charged for the requests it delayed (no coordinated omission).
+ */
+public class EndpointStats {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+    private final Operation operation;
+    private final Recorder recorder = new Recorder(HIGHEST_TRACKABLE_MICROS, 3);
+    private final LongAdder total = new LongAdder();
+    private final LongAdder successful = new LongAdder();
+    private final LongAdder rateLimited = new LongAdder();
+    private final LongAdder badGateway = new LongAdder();
+    private final LongAdder otherErrors = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+
+    private Histogram histogram;
+
+    public EndpointStats(Operation operation) {
+        this.operation = operation;
+    }
+
+    public void record(long scheduledNanos, int status) {
+        recordLatency(scheduledNanos);
+        if (status >= 200 && status < 300) {
+            successful.increment();
+        } else if (status == 429) {
+            rateLimited.increment();
+        } else if (status == 502) {
+            badGateway.increment();
+        } else {
+            otherErrors.increment();
+        }
+    }
+
+    public void recordFailure(long scheduledNanos) {
+        recordLatency(scheduledNanos);
+        failures.increment();
+    }
+
+    private void recordLatency(long scheduledNanos) {
+        total.increment();
+        recorder.recordValue(
+                Math.min(HIGHEST_TRACKABLE_MICROS, TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - scheduledNanos)));
+    }
+
+    public Histogram histogram() {
+        if (histogram == null) {
+            histogram = recorder.getIntervalHistogram();
+        }
+        return histogram;
+    }
+
+    public Operation operation() {
+        return operation;
+    }
+
+    public void printRow(PrintStream out, double seconds) {
+        final var h = histogram();
+        final var count = total.sum();
+        out.printf(
+                "%-38s %8d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f %7.2f%% %7.2f%% %7.2f%% %7.2f%%%n",
+                operation.methodName(),
+                count,
+                count / seconds,
+                millis(h.getValueAtPercentile(50)),
+                millis(h.getValueAtPercentile(90)),
+                millis(h.getValueAtPercentile(99)),
+                millis(h.getValueAtPercentile(99.9)),
+                millis(h.getMaxValue()),
+                percent(successful.sum(), count),
+                percent(rateLimited.sum(), count),
+                percent(badGateway.sum(), count),
+                percent(otherErrors.sum() + failures.sum(), count));
+    }
+
+    public static void printHeader(PrintStream out) {
+        out.printf(
+                "%-38s %8s %9s %9s %9s %9s %9s %9s %8s %8s %8s %8s%n",
+                "operation",
+                "count",
+                "req/s",
+                "p50 ms",
+                "p90 ms",
+                "p99 ms",
+                "p99.9 ms",
+                "max ms",
+                "2xx",
+                "429",
+                "502",
+                "other");
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    private static double percent(long part, long whole) {
+        return whole == 0 ? 0 : part * 100.0 / whole;
+    }
+}
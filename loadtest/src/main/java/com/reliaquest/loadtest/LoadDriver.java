@@ -0,0 +1,84 @@
+package com.reliaquest.loadtest;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load: requests start on a fixed schedule of {@code rate} per second whether or not earlier ones have
+ * completed, the way independent users would arrive. The next operation is drawn from the weighted mix.
+ */
+public class LoadDriver {
+
+    private final HttpClient client;
+    private final String baseUrl;
+    private final TestData data;
+    private final Operation[] weightedOperations;
+    private final SplittableRandom random = new SplittableRandom(42);
+
+    public LoadDriver(HttpClient client, String baseUrl, TestData data, Map<Operation, Integer> mix) {
+        this.client = client;
+        this.baseUrl = baseUrl;
+        this.data = data;
+        this.weightedOperations = mix.entrySet().stream()
+                .flatMap(entry -> Collections.nCopies(entry.getValue(), entry.getKey()).stream())
+                .toArray(Operation[]::new);
+        if (weightedOperations.length == 0) {
+            throw new IllegalArgumentException("The operation mix has no positive weights");
+        }
+    }
+
+    /**
+     * Runs one phase and returns its statistics once every request started in the phase has completed.
+     */
+    public Map<Operation, EndpointStats> run(double rate, Duration duration) throws InterruptedException {
+        final var stats = new EnumMap<Operation, EndpointStats>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new EndpointStats(operation));
+        }
+
+        final var outstanding = new AtomicInteger();
+        final var intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+        final var start = System.nanoTime();
+        final var end = start + duration.toNanos();
+        for (long scheduled = start; scheduled < end; scheduled += intervalNanos) {
+            parkUntil(scheduled);
+            final var operation = weightedOperations[random.nextInt(weightedOperations.length)];
+            final var scheduledNanos = scheduled;
+            outstanding.incrementAndGet();
+            client.sendAsync(operation.request(baseUrl, data), HttpResponse.BodyHandlers.ofString())
+                    .whenComplete((response, failure) -> {
+                        if (failure != null) {
+                            stats.get(operation).recordFailure(scheduledNanos);
+                        } else {
+                            stats.get(operation).record(scheduledNanos, response.statusCode());
+                            data.onResponse(operation, response.statusCode(), response.body());
+                        }
+                        outstanding.decrementAndGet();
+                    });
+        }
+
+        final var drainDeadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(1);
+        while (outstanding.get() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(10);
+        }
+        if (outstanding.get() > 0) {
+            System.err.printf("%d requests were still in flight a minute after the phase ended%n", outstanding.get());
+        }
+        return stats;
+    }
+
+    private static void parkUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.reliaquest.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.boot.convert.DurationStyle;
+
+/**
+ * Load test settings, read from {@code loadtest.*} system properties.
+ *
+ * @param rate requests started per second, independent of how fast responses come back
+ * @param mix relative weight of each operation
+ * @param external drive already running applications instead of starting them
+ */
+public record LoadProfile(
+        double rate,
+        Duration duration,
+        Duration warmup,
+        Map<Operation, Integer> mix,
+        String apiBaseUrl,
+        String serverBaseUrl,
+        boolean external,
+        Path serverJar,
+        Path apiJar,
+        List<String> serverArgs,
+        List<String> apiArgs,
+        Path reportDir) {
+
+    private static final String DEFAULT_MIX = "getAllEmployees=20,getEmployeesByNameSearch=20,getEmployeeById=25,"
+            + "getHighestSalaryOfEmployees=10,getTopTenHighestEarningEmployeeNames=10,createEmployee=10,"
+            + "deleteEmployeeById=5";
+
+    public static LoadProfile fromSystemProperties() {
+        return new LoadProfile(
+                Double.parseDouble(property("rate", "100")),
+                DurationStyle.detectAndParse(property("duration", "60s")),
+                DurationStyle.detectAndParse(property("warmup", "10s")),
+                parseMix(property("mix", DEFAULT_MIX)),
+                property("api-base-url", "http://localhost:8111/api/v1/employees"),
+                property("server-base-url", "http://localhost:8112/api/v1/employee"),
+                Boolean.parseBoolean(property("external", "false")),
+                Path.of(property("server-jar", "server/build/libs/server-1.0.0.jar")),
+                Path.of(property("api-jar", "api/build/libs/api-1.0.0.jar")),
+                List.of(property(
+                                "server-args",
+                                "--mock.employees.max=10000 --mock.employees.seed=42"
+                                        + " --mock.rate-limit.default-profile=load-test")
+                        .split("\\s+")),
+                List.of(property(
+                                "api-args",
+                                "--employees.upstream.budget.capacity=5000"
+                                        + " --employees.upstream.budget.refill-period=1s")
+                        .split("\\s+")),
+                Path.of(property("report-dir", "build/loadtest")));
+    }
+
+    private static String property(String name, String defaultValue) {
+        return System.getProperty("loadtest." + name, defaultValue);
+    }
+
+    private static Map<Operation, Integer> parseMix(String mix) {
+        final var weights = new EnumMap<Operation, Integer>(Operation.class);
+        for (String entry : mix.split(",")) {
+            final var parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid mix entry: " + entry);
+            }
+            weights.put(Operation.named(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+        }
+        return weights;
+    }
+}
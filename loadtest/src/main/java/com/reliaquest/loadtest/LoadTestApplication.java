@@ -0,0 +1,83 @@
+package com.reliaquest.loadtest;
+
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.Executors;
+
+/**
+ * Starts the mock server and the API from their boot jars, drives a warm-up phase and a measured phase of open-model
+ * load against the API, and prints per-operation latency percentiles and 429/502 rates. Full HdrHistogram
+ * distributions are written to {@code <operation>.hgrm} files in the report directory.
+ */
+public class LoadTestApplication {
+
+    public static void main(String[] args) throws Exception {
+        final var profile = LoadProfile.fromSystemProperties();
+        final var client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+
+        final var processes = new ArrayList<ManagedProcess>();
+        try {
+            if (!profile.external()) {
+                final var server = ManagedProcess.start(
+                        "server", profile.serverJar(), profile.serverArgs(), profile.reportDir());
+                processes.add(server);
+                server.awaitReady(client, profile.serverBaseUrl());
+                final var api =
+                        ManagedProcess.start("api", profile.apiJar(), profile.apiArgs(), profile.reportDir());
+                processes.add(api);
+                api.awaitReady(client, profile.apiBaseUrl());
+            }
+
+            final var data = TestData.fromEmployeeList(client.send(
+                            HttpRequest.newBuilder(URI.create(profile.apiBaseUrl()))
+                                    .build(),
+                            HttpResponse.BodyHandlers.ofString())
+                    .body());
+            final var driver = new LoadDriver(client, profile.apiBaseUrl(), data, profile.mix());
+
+            System.out.printf("Warming up for %s at %.0f req/s%n", profile.warmup(), profile.rate());
+            driver.run(profile.rate(), profile.warmup());
+            System.out.printf("Measuring for %s at %.0f req/s%n", profile.duration(), profile.rate());
+            final var stats = driver.run(profile.rate(), profile.duration());
+
+            report(System.out, stats, profile);
+        } finally {
+            for (ManagedProcess process : processes.reversed()) {
+                process.close();
+            }
+        }
+    }
+
+    private static void report(PrintStream out, Map<Operation, EndpointStats> stats, LoadProfile profile)
+            throws Exception {
+        final var seconds = profile.duration().toNanos() / 1e9;
+        out.println();
+        EndpointStats.printHeader(out);
+        for (EndpointStats endpoint : stats.values()) {
+            endpoint.printRow(out, seconds);
+        }
+
+        Files.createDirectories(profile.reportDir());
+        for (EndpointStats endpoint : stats.values()) {
+            final var file = profile.reportDir().resolve(endpoint.operation().methodName() + ".hgrm");
+            try (var hgrm = new PrintStream(Files.newOutputStream(file))) {
+                endpoint.histogram().outputPercentileDistribution(hgrm, 1000.0);
+            }
+        }
+        out.println();
+        out.println("Latency distributions (ms) written to " + profile.reportDir().toAbsolutePath());
+    }
+
+    private LoadTestApplication() {}
+}
@@ -0,0 +1,66 @@
+package com.reliaquest.loadtest;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.function.BiFunction;
+
+/**
+ * The seven {@code IEmployeeController} operations, named after its methods.
+ */
+public enum Operation {
+    GET_ALL_EMPLOYEES("getAllEmployees", (base, data) -> get(base)),
+    GET_EMPLOYEES_BY_NAME_SEARCH(
+            "getEmployeesByNameSearch",
+            (base, data) -> get(base + "/search/" + URLEncoder.encode(data.nameFragment(), StandardCharsets.UTF_8))),
+    GET_EMPLOYEE_BY_ID("getEmployeeById", (base, data) -> get(base + "/" + data.knownId())),
+    GET_HIGHEST_SALARY_OF_EMPLOYEES("getHighestSalaryOfEmployees", (base, data) -> get(base + "/highestSalary")),
+    GET_TOP_TEN_HIGHEST_EARNING_EMPLOYEE_NAMES(
+            "getTopTenHighestEarningEmployeeNames", (base, data) -> get(base + "/topTenHighestEarningEmployeeNames")),
+    CREATE_EMPLOYEE("createEmployee", (base, data) -> post(base, data.createBody())),
+    DELETE_EMPLOYEE_BY_ID("deleteEmployeeById", (base, data) -> delete(base + "/" + data.deletableId()));
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final String methodName;
+    private final BiFunction<String, TestData, HttpRequest> request;
+
+    Operation(String methodName, BiFunction<String, TestData, HttpRequest> request) {
+        this.methodName = methodName;
+        this.request = request;
+    }
+
+    public String methodName() {
+        return methodName;
+    }
+
+    public HttpRequest request(String baseUrl, TestData data) {
+        return request.apply(baseUrl, data);
+    }
+
+    public static Operation named(String methodName) {
+        return Arrays.stream(values())
+                .filter(operation -> operation.methodName.equals(methodName))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown operation: " + methodName));
+    }
+
+    private static HttpRequest get(String uri) {
+        return HttpRequest.newBuilder(URI.create(uri)).timeout(TIMEOUT).GET().build();
+    }
+
+    private static HttpRequest post(String uri, String json) {
+        return HttpRequest.newBuilder(URI.create(uri))
+                .timeout(TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private static HttpRequest delete(String uri) {
+        return HttpRequest.newBuilder(URI.create(uri)).timeout(TIMEOUT).DELETE().build();
+    }
+}
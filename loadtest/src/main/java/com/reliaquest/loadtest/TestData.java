@@ -0,0 +1,80 @@
+package com.reliaquest.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Ids and names the operations draw on. Known employees are read from the API once before the run; employees created
+ * during the run are queued and are the ones deleted, so deletes do not eat into the employees that reads target.
+ */
+public class TestData {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final List<String> knownIds;
+    private final List<String> nameFragments;
+    private final Queue<String> createdIds = new ConcurrentLinkedQueue<>();
+    private final AtomicLong created = new AtomicLong();
+
+    private TestData(List<String> knownIds, List<String> nameFragments) {
+        this.knownIds = knownIds;
+        this.nameFragments = nameFragments;
+    }
+
+    public static TestData fromEmployeeList(String json) throws Exception {
+        final var ids = new ArrayList<String>();
+        final var fragments = new ArrayList<String>();
+        for (JsonNode employee : OBJECT_MAPPER.readTree(json)) {
+            ids.add(employee.path("id").asText());
+            final var name = employee.path("employee_name").asText();
+            fragments.add(name.substring(0, Math.min(4, name.length())));
+        }
+        if (ids.isEmpty()) {
+            throw new IllegalStateException("The API returned no employees to drive the load test with");
+        }
+        return new TestData(List.copyOf(ids), List.copyOf(fragments));
+    }
+
+    public String knownId() {
+        return knownIds.get(ThreadLocalRandom.current().nextInt(knownIds.size()));
+    }
+
+    public String nameFragment() {
+        return nameFragments.get(ThreadLocalRandom.current().nextInt(nameFragments.size()));
+    }
+
+    public String createBody() {
+        final var random = ThreadLocalRandom.current();
+        return """
+                {"name":"Load Test %d","salary":%d,"age":%d,"title":"Load Tester"}"""
+                .formatted(created.incrementAndGet(), random.nextInt(30000, 500000), random.nextInt(16, 76));
+    }
+
+    /*
+     * Falls back to a known id when nothing created is left; that delete then competes with reads for the same data.
+     */
+    public String deletableId() {
+        final var id = createdIds.poll();
+        return id != null ? id : knownId();
+    }
+
+    public void onResponse(Operation operation, int status, String body) {
+        if (operation != Operation.CREATE_EMPLOYEE || status != 201) {
+            return;
+        }
+        try {
+            final var id = OBJECT_MAPPER.readTree(body).path("id").asText(null);
+            if (id != null) {
+                createdIds.add(id);
+            }
+        } catch (Exception ignored) {
+            // an unreadable body only means this employee is never deleted
+        }
+    }
+}
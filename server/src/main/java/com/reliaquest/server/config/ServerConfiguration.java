@@ -1,59 +1,126 @@
 package com.reliaquest.server.config;
 
-import com.reliaquest.server.model.MockEmployee;
-import com.reliaquest.server.web.RandomRequestLimitInterceptor;
-import java.util.ArrayList;
-import java.util.List;
+import com.reliaquest.server.data.MockEmployeeGenerator;
+import com.reliaquest.server.store.AbstractEmployeeStore;
+import com.reliaquest.server.store.ColumnarEmployeeStore;
+import com.reliaquest.server.store.EmployeeDataFile;
+import com.reliaquest.server.store.EmployeeStore;
+import com.reliaquest.server.store.EmployeeWriteAheadLog;
+import com.reliaquest.server.store.IndexedEmployeeStore;
+import com.reliaquest.server.web.ClientRateLimitInterceptor;
+import com.reliaquest.server.web.ClientRateLimiter;
+import com.reliaquest.server.web.RateLimitProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Locale;
-import java.util.UUID;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
+import java.util.random.RandomGenerator;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import net.datafaker.Faker;
-import net.datafaker.transformations.Field;
-import net.datafaker.transformations.JavaObjectTransformer;
-import net.datafaker.transformations.Schema;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Slf4j
 @Configuration
+@RequiredArgsConstructor
+@EnableConfigurationProperties(RateLimitProperties.class)
 public class ServerConfiguration implements WebMvcConfigurer {
 
     public static final String EMAIL_TEMPLATE = "%s@company.com";
 
+    private static final int LOGGED_EMPLOYEES_MAX = 1_000;
+
+    private final RateLimitProperties rateLimitProperties;
+    private final MeterRegistry meterRegistry;
+
     @Bean
     public Faker faker() {
         return new Faker(Locale.getDefault());
     }
 
     /*
-     * This list is modifiable by design for CRUD operations.
+     * Reopens the data file when there is one. Otherwise the employees are generated and, if a data file is
+     * configured, saved right away, replacing any log left from an earlier data file. The generated list is only
+     * handed to the store, so with the columnar store it becomes garbage once loaded.
      */
     @Bean
-    public List<MockEmployee> mockEmployees(Faker faker, @Value("${mock.employees.max:20}") int maxEmployees) {
-        final var transformer = new JavaObjectTransformer();
-        final var schema = Schema.of(
-                Field.field("id", UUID::randomUUID),
-                Field.field("name", () -> faker.name().fullName()),
-                Field.field("salary", () -> faker.number().numberBetween(30000, 500000)),
-                Field.field("age", () -> faker.number().numberBetween(16, 70)),
-                Field.field("title", () -> faker.job().title()),
-                Field.field(
-                        "email",
-                        () -> EMAIL_TEMPLATE.formatted(
-                                faker.twitter().userName().toLowerCase())));
-        return IntStream.rangeClosed(1, maxEmployees)
-                .mapToObj(ignored -> (MockEmployee) transformer.apply(MockEmployee.class, schema))
-                .peek(mockEmployee -> log.debug("Created employee: {}", mockEmployee))
-                .collect(Collectors.toCollection(ArrayList::new));
+    public AbstractEmployeeStore employeeStore(
+            @Value("${mock.employees.max:20}") int maxEmployees,
+            @Value("${mock.employees.seed:#{null}}") Long seed,
+            @Value("${mock.employees.store:indexed}") String store,
+            @Value("${mock.employees.retained-changes:" + AbstractEmployeeStore.DEFAULT_RETAINED_CHANGES + "}")
+                    int retainedChanges,
+            @Value("${mock.employees.data-file:}") String dataFile)
+            throws IOException {
+        final var columnar =
+                switch (store.toLowerCase(Locale.ROOT)) {
+                    case "indexed" -> false;
+                    case "columnar" -> true;
+                    default -> throw new IllegalArgumentException(
+                            "mock.employees.store must be indexed or columnar, not " + store);
+                };
+
+        final AbstractEmployeeStore employeeStore;
+        if (!dataFile.isBlank() && Files.exists(Path.of(dataFile))) {
+            final var started = System.nanoTime();
+            final var loaded = EmployeeDataFile.read(Path.of(dataFile), retainedChanges);
+            employeeStore = columnar
+                    ? loaded
+                    : new IndexedEmployeeStore(loaded.findAll(), retainedChanges, loaded.version(), loaded.epoch());
+            log.info(
+                    "Opened {} employees from {} in {} ms; mock.employees.max and seed are ignored",
+                    employeeStore.size(),
+                    dataFile,
+                    (System.nanoTime() - started) / 1_000_000);
+        } else {
+            final var employees = new MockEmployeeGenerator(
+                            seed != null ? seed : RandomGenerator.getDefault().nextLong())
+                    .generate(maxEmployees);
+            if (maxEmployees <= LOGGED_EMPLOYEES_MAX) {
+                employees.forEach(mockEmployee -> log.debug("Created employee: {}", mockEmployee));
+            }
+            employeeStore = columnar
+                    ? new ColumnarEmployeeStore(employees, retainedChanges)
+                    : new IndexedEmployeeStore(employees, retainedChanges);
+            if (!dataFile.isBlank()) {
+                EmployeeWriteAheadLog.delete(Path.of(dataFile));
+                EmployeeDataFile.write(Path.of(dataFile), employeeStore);
+            }
+        }
+        meterRegistry.gauge("mock.employees", employeeStore, EmployeeStore::size);
+        return employeeStore;
+    }
+
+    /*
+     * Replays the writes logged since the data file was saved before the server takes requests, then makes every
+     * write durable before it is acknowledged. Closing saves the data file and clears the log.
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnExpression("!'${mock.employees.data-file:}'.isBlank()")
+    public EmployeeWriteAheadLog employeeWriteAheadLog(
+            AbstractEmployeeStore employeeStore,
+            @Value("${mock.employees.data-file}") String dataFile,
+            @Value("${mock.employees.wal.compaction-threshold:64MB}") DataSize compactionThreshold)
+            throws IOException {
+        return EmployeeWriteAheadLog.open(Path.of(dataFile), employeeStore, compactionThreshold.toBytes());
     }
 
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
-        registry.addInterceptor(new RandomRequestLimitInterceptor());
+        if (rateLimitProperties.enabled()) {
+            registry.addInterceptor(new ClientRateLimitInterceptor(
+                            new ClientRateLimiter(rateLimitProperties),
+                            rateLimitProperties.clientHeader(),
+                            meterRegistry))
+                    .addPathPatterns("/api/**");
+        }
     }
 }
@@ -1,14 +1,17 @@
 package com.reliaquest.server.controller;
 
 import com.reliaquest.server.model.CreateMockEmployeeInput;
+import com.reliaquest.server.model.CreateMockEmployeesInput;
 import com.reliaquest.server.model.DeleteMockEmployeeInput;
 import com.reliaquest.server.model.MockEmployee;
 import com.reliaquest.server.model.Response;
 import com.reliaquest.server.service.MockEmployeeService;
+import com.reliaquest.server.store.EmployeeChange;
 import jakarta.validation.Valid;
 import java.util.List;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -16,7 +19,9 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
@@ -24,11 +29,93 @@ import org.springframework.web.bind.annotation.RestController;
 @RequiredArgsConstructor
 public class MockEmployeeController {
 
+    public static final String VERSION_HEADER = "X-Employees-Version";
+    public static final String EPOCH_HEADER = "X-Employees-Epoch";
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    public static final String CURSOR_END_HEADER = "X-Cursor-End";
+
+    private static final int MAX_PAGE_SIZE = 10_000;
+
     private final MockEmployeeService mockEmployeeService;
 
     @GetMapping()
-    public Response<List<MockEmployee>> getEmployees() {
-        return Response.handledWith(mockEmployeeService.getMockEmployees());
+    public ResponseEntity<Response<List<MockEmployee>>> getEmployees(
+            @RequestParam(name = "cursor", required = false) Long cursor,
+            @RequestParam(name = "limit", required = false) Integer limit,
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (cursor != null || limit != null) {
+            return getEmployeePage(cursor == null ? 0 : cursor, limit == null ? MAX_PAGE_SIZE : limit);
+        }
+        final var epoch = epoch();
+        final var snapshot = mockEmployeeService.getSnapshot();
+        final var etag = "\"" + epoch + "-" + snapshot.version() + "\"";
+        if (matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .header(VERSION_HEADER, String.valueOf(snapshot.version()))
+                    .header(EPOCH_HEADER, epoch)
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .header(VERSION_HEADER, String.valueOf(snapshot.version()))
+                .header(EPOCH_HEADER, epoch)
+                .body(Response.handledWith(snapshot.employees()));
+    }
+
+    /*
+     * 410 Gone tells the client that the log no longer reaches back to its version and only a full read will do.
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<Response<List<EmployeeChange>>> getChanges(@RequestParam("since") long since) {
+        final var epoch = epoch();
+        return mockEmployeeService
+                .getChangesSince(since)
+                .map(changes -> ResponseEntity.ok()
+                        .header(VERSION_HEADER, String.valueOf(changes.version()))
+                        .header(EPOCH_HEADER, epoch)
+                        .body(Response.handledWith(changes.changes())))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.GONE)
+                        .header(EPOCH_HEADER, epoch)
+                        .body(Response.error("Changes since version " + since + " are not retained")));
+    }
+
+    /*
+     * Versions restart with every freshly generated list, so ETags and change feeds also carry the store's epoch; a
+     * client must not be told that a new list is the one it already has, nor be handed changes against a list it never
+     * saw. A server reopened from its data file keeps the saved epoch, so clients carry on from the version they hold.
+     */
+    private String epoch() {
+        return Long.toHexString(mockEmployeeService.getEpoch());
+    }
+
+    /*
+     * If-None-Match may list several tags, weak or strong, or be "*"; the comparison is weak as RFC 9110 requires.
+     */
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            final var tag = candidate.trim();
+            if (tag.equals("*") || tag.equals(etag) || tag.equals("W/" + etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private ResponseEntity<Response<List<MockEmployee>>> getEmployeePage(long cursor, int limit) {
+        if (cursor < 0 || limit < 1 || limit > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest()
+                    .body(Response.error("cursor must be >= 0 and limit between 1 and " + MAX_PAGE_SIZE));
+        }
+        final var page = mockEmployeeService.getPage(cursor, limit);
+        final var response = ResponseEntity.ok().header(CURSOR_END_HEADER, String.valueOf(page.end()));
+        if (page.hasNext()) {
+            response.header(NEXT_CURSOR_HEADER, String.valueOf(page.next()));
+        }
+        return response.body(Response.handledWith(page.employees()));
     }
 
     @GetMapping("/{id}")
@@ -44,8 +131,28 @@ public class MockEmployeeController {
         return Response.handledWith(mockEmployeeService.create(input));
     }
 
+    /*
+     * Creates up to CreateMockEmployeesInput.MAX_SIZE employees in one request, returned in input order; the rate
+     * limiter counts the batch as one request.
+     */
+    @PostMapping("/batch")
+    public Response<List<MockEmployee>> createEmployees(@Valid @RequestBody CreateMockEmployeesInput input) {
+        return Response.handledWith(mockEmployeeService.createAll(input.getEmployees()));
+    }
+
     @DeleteMapping()
     public Response<Boolean> deleteEmployee(@Valid @RequestBody DeleteMockEmployeeInput input) {
         return Response.handledWith(mockEmployeeService.delete(input));
     }
+
+    /*
+     * Deletes exactly the employee with this id and returns it, so callers learn what was removed without a lookup.
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Response<MockEmployee>> deleteEmployeeById(@PathVariable("id") UUID uuid) {
+        return mockEmployeeService
+                .deleteById(uuid)
+                .map(employee -> ResponseEntity.ok(Response.handledWith(employee)))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body(Response.handled()));
+    }
 }
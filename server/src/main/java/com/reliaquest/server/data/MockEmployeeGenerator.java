@@ -0,0 +1,106 @@
+package com.reliaquest.server.data;
+
+import com.reliaquest.server.config.ServerConfiguration;
+import com.reliaquest.server.model.MockEmployee;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import lombok.extern.slf4j.Slf4j;
+import net.datafaker.Faker;
+
+/**
+ * Generates the startup data set in parallel without reflection.
+ * <p>
+ * Datafaker is consulted only once, to fill small pools of first names, last names and job titles. Employees are
+ * then assembled directly from those pools in fixed-size chunks, each drawing from its own {@link SplittableRandom}
+ * derived from the seed and the chunk index. The output therefore depends only on the seed and the requested size,
+ * not on how many threads ran or in which order the chunks finished. The pools are always drawn in
+ * {@link #LOCALE}, so the host locale does not change them either.
+ */
+@Slf4j
+public class MockEmployeeGenerator {
+
+    private static final Locale LOCALE = Locale.US;
+
+    private static final int POOL_SIZE = 512;
+    private static final int CHUNK_SIZE = 16_384;
+    private static final long CHUNK_SEED_STRIDE = 0x9E3779B97F4A7C15L;
+
+    private final long seed;
+    private final String[] firstNames;
+    private final String[] lastNames;
+    private final String[] titles;
+
+    public MockEmployeeGenerator(long seed) {
+        this.seed = seed;
+        final var faker = new Faker(LOCALE, new Random(seed));
+        this.firstNames = pool(() -> faker.name().firstName());
+        this.lastNames = pool(() -> faker.name().lastName());
+        this.titles = pool(() -> faker.job().title());
+    }
+
+    public List<MockEmployee> generate(int count) {
+        final var employees = new MockEmployee[count];
+        final var started = System.nanoTime();
+        IntStream.range(0, (count + CHUNK_SIZE - 1) / CHUNK_SIZE).parallel().forEach(chunk -> fill(employees, chunk));
+        final var elapsedNanos = Math.max(1, System.nanoTime() - started);
+        log.info(
+                "Generated {} employees with seed {} in {} ms ({} employees/s)",
+                count,
+                seed,
+                elapsedNanos / 1_000_000,
+                count * 1_000_000_000L / elapsedNanos);
+        return Arrays.asList(employees);
+    }
+
+    private void fill(MockEmployee[] employees, int chunk) {
+        final var random = new SplittableRandom(seed + chunk * CHUNK_SEED_STRIDE);
+        final var end = Math.min(employees.length, (chunk + 1) * CHUNK_SIZE);
+        for (int i = chunk * CHUNK_SIZE; i < end; i++) {
+            final var firstName = firstNames[random.nextInt(firstNames.length)];
+            final var lastName = lastNames[random.nextInt(lastNames.length)];
+            employees[i] = new MockEmployee(
+                    randomUuid(random),
+                    firstName + ' ' + lastName,
+                    random.nextInt(30000, 500000),
+                    random.nextInt(16, 70),
+                    titles[random.nextInt(titles.length)],
+                    ServerConfiguration.EMAIL_TEMPLATE.formatted(
+                            userName(firstName, lastName, random.nextInt(1000))));
+        }
+    }
+
+    /*
+     * Version 4 (random) UUID built from the chunk's generator instead of SecureRandom, so ids are reproducible too.
+     */
+    private static UUID randomUuid(SplittableRandom random) {
+        final var msb = (random.nextLong() & 0xFFFFFFFFFFFF0FFFL) | 0x0000000000004000L;
+        final var lsb = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(msb, lsb);
+    }
+
+    private static String userName(String firstName, String lastName, int suffix) {
+        final var userName = new StringBuilder(firstName.length() + lastName.length() + 4);
+        for (String part : new String[] {firstName, lastName}) {
+            for (int i = 0; i < part.length(); i++) {
+                final var c = part.charAt(i);
+                if (Character.isLetterOrDigit(c)) {
+                    userName.append(Character.toLowerCase(c));
+                }
+            }
+        }
+        return userName.append(suffix).toString();
+    }
+
+    private static String[] pool(Supplier<String> source) {
+        return IntStream.range(0, POOL_SIZE)
+                .mapToObj(ignored -> source.get())
+                .distinct()
+                .toArray(String[]::new);
+    }
+}
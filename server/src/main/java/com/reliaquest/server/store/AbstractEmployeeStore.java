@@ -0,0 +1,271 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.random.RandomGenerator;
+import lombok.NonNull;
+
+/**
+ * Versioning, snapshots and the change log shared by the {@link EmployeeStore} implementations, which only decide how
+ * employees are laid out and indexed.
+ * <p>
+ * Writes are serialized by a single write lock so that an implementation's indexes always change together, and each
+ * write bumps the store version. Implementations whose reads cannot run against concurrent writes take the read side
+ * of the same lock.
+ * <p>
+ * List reads are served from an immutable {@link EmployeeSnapshot}. The first reader of a new version copies the
+ * employees under the read lock, so lookups carry on during the copy, and publishes it; every later reader of that
+ * version gets the published copy with a single volatile read. Readers that arrive during the copy wait for it rather
+ * than copying again, so bursts of writes cost one copy, not one per write.
+ * <p>
+ * Each write also appends an {@link EmployeeChange} to a change log keyed by the version it produced. Only the latest
+ * {@code retainedChanges} entries are kept, so a reader that falls further behind must reload the full list. The
+ * employees the store starts with are not logged.
+ * <p>
+ * An attached {@link EmployeeJournal} sees the same changes in the same order. A write is rejected before it changes
+ * anything once the journal cannot take it, and returns only once the journal has made it durable, which the writer
+ * waits for after releasing the lock.
+ */
+public abstract class AbstractEmployeeStore implements EmployeeStore {
+
+    public static final int DEFAULT_RETAINED_CHANGES = 10_000;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Lock snapshotLock = new ReentrantLock();
+    private final ConcurrentSkipListMap<Long, EmployeeChange> changes = new ConcurrentSkipListMap<>();
+    private final int retainedChanges;
+
+    private volatile long epoch;
+    private volatile long version;
+    private volatile long changeFloor;
+    private volatile EmployeeSnapshot snapshot = new EmployeeSnapshot(0, List.of());
+    private volatile EmployeeJournal journal;
+
+    protected AbstractEmployeeStore(int retainedChanges) {
+        if (retainedChanges < 0) {
+            throw new IllegalArgumentException("retainedChanges must not be negative");
+        }
+        this.retainedChanges = retainedChanges;
+    }
+
+    /*
+     * Called once from the subclass constructor, after its own fields are initialized.
+     */
+    protected final void load(Collection<MockEmployee> employees) {
+        load(employees, employees.size(), newEpoch());
+    }
+
+    /*
+     * As load(employees), but versioning continues from a version and epoch the employees were saved at.
+     */
+    protected final void load(Collection<MockEmployee> employees, long version, long epoch) {
+        insertAll(List.copyOf(employees));
+        startChangeLog(version, epoch);
+    }
+
+    /**
+     * Starts versioning at {@code version} of {@code epoch} with an empty change log, for subclasses that fill their
+     * indexes without going through {@link #insert}. Called once from the subclass constructor.
+     */
+    protected final void startChangeLog(long version, long epoch) {
+        this.epoch = epoch;
+        this.version = version;
+        changes.clear();
+        changeFloor = version;
+    }
+
+    /**
+     * Sends every later write to {@code journal}; writes made before are expected to be durable already.
+     */
+    public void journalTo(@NonNull EmployeeJournal journal) {
+        writeLock().lock();
+        try {
+            this.journal = journal;
+        } finally {
+            writeLock().unlock();
+        }
+    }
+
+    public long version() {
+        return version;
+    }
+
+    @Override
+    public long epoch() {
+        return epoch;
+    }
+
+    protected static long newEpoch() {
+        return RandomGenerator.getDefault().nextLong();
+    }
+
+    @Override
+    public EmployeeSnapshot snapshot() {
+        EmployeeSnapshot current = snapshot;
+        if (current.version() == version) {
+            return current;
+        }
+        // Only one reader copies at a time; writers never take snapshotLock, so holding it while waiting for the
+        // read lock cannot deadlock. The version cannot move while the read lock is held.
+        snapshotLock.lock();
+        try {
+            readLock().lock();
+            try {
+                if (snapshot.version() != version) {
+                    snapshot = new EmployeeSnapshot(version, copyAll());
+                }
+                return snapshot;
+            } finally {
+                readLock().unlock();
+            }
+        } finally {
+            snapshotLock.unlock();
+        }
+    }
+
+    @Override
+    public MockEmployee insert(@NonNull MockEmployee employee) {
+        writeLock().lock();
+        try {
+            checkWritable();
+            add(employee);
+            append(EmployeeChange.Type.CREATED, employee);
+        } finally {
+            writeLock().unlock();
+        }
+        sync();
+        return employee;
+    }
+
+    /*
+     * Takes the write lock once for the whole batch instead of once per employee.
+     */
+    @Override
+    public List<MockEmployee> insertAll(@NonNull List<MockEmployee> employees) {
+        writeLock().lock();
+        try {
+            checkWritable();
+            for (MockEmployee employee : employees) {
+                add(employee);
+                append(EmployeeChange.Type.CREATED, employee);
+            }
+        } finally {
+            writeLock().unlock();
+        }
+        sync();
+        return employees;
+    }
+
+    @Override
+    public Optional<MockEmployee> deleteByName(@NonNull String name) {
+        final Optional<MockEmployee> removed;
+        writeLock().lock();
+        try {
+            checkWritable();
+            removed = removeByName(name);
+            removed.ifPresent(employee -> append(EmployeeChange.Type.DELETED, employee));
+        } finally {
+            writeLock().unlock();
+        }
+        removed.ifPresent(ignored -> sync());
+        return removed;
+    }
+
+    @Override
+    public Optional<MockEmployee> deleteById(@NonNull UUID id) {
+        final Optional<MockEmployee> removed;
+        writeLock().lock();
+        try {
+            checkWritable();
+            removed = removeById(id);
+            removed.ifPresent(employee -> append(EmployeeChange.Type.DELETED, employee));
+        } finally {
+            writeLock().unlock();
+        }
+        removed.ifPresent(ignored -> sync());
+        return removed;
+    }
+
+    @Override
+    public Optional<EmployeeChanges> changesSince(long since) {
+        final var current = version;
+        if (since < changeFloor || since > current) {
+            return Optional.empty();
+        }
+        final var logged = List.copyOf(changes.subMap(since, false, current, true).values());
+        // Writes that raced with the copy may have trimmed entries the reader still needed.
+        return since < changeFloor ? Optional.empty() : Optional.of(new EmployeeChanges(current, logged));
+    }
+
+    protected final Lock readLock() {
+        return lock.readLock();
+    }
+
+    protected final Lock writeLock() {
+        return lock.writeLock();
+    }
+
+    /**
+     * Returns every employee in insertion order, as a list that no later write changes. Called under the read lock,
+     * by one thread at a time.
+     */
+    protected abstract List<MockEmployee> copyAll();
+
+    /**
+     * Adds the employee, replacing any employee with the same id. Called under the write lock.
+     */
+    protected abstract void add(MockEmployee employee);
+
+    /**
+     * Removes the earliest inserted employee whose name matches, ignoring case. Called under the write lock.
+     */
+    protected abstract Optional<MockEmployee> removeByName(String name);
+
+    /**
+     * Called under the write lock.
+     */
+    protected abstract Optional<MockEmployee> removeById(UUID id);
+
+    /*
+     * Called under the write lock. The entry is logged before the version is published, so a reader that sees a
+     * version also finds its change. Versions are consecutive, so the log holds exactly (changeFloor, version].
+     * Trimming raises the floor before it drops the entry, so a reader that copied a range with a gap in it always
+     * sees the raised floor when it checks again.
+     * The journal gets the change after the version is published, so whoever sees it in the journal also sees it in
+     * the next snapshot.
+     */
+    private void append(EmployeeChange.Type type, MockEmployee employee) {
+        final var next = version + 1;
+        final var change = new EmployeeChange(next, type, employee);
+        changes.put(next, change);
+        version = next;
+        while (version - changeFloor > retainedChanges) {
+            final var dropped = ++changeFloor;
+            changes.remove(dropped);
+        }
+        if (journal != null) {
+            journal.append(change);
+        }
+    }
+
+    private void checkWritable() {
+        if (journal != null) {
+            journal.checkWritable();
+        }
+    }
+
+    private void sync() {
+        final var current = journal;
+        if (current != null) {
+            current.sync();
+        }
+    }
+}
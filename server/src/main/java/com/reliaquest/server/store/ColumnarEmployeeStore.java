@@ -0,0 +1,469 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.RandomAccess;
+import java.util.UUID;
+import lombok.NonNull;
+
+/**
+ * {@link EmployeeStore} that keeps employees as primitive columns instead of one object graph per employee.
+ * <p>
+ * Row {@code n} is the {@code n}-th insert and doubles as its sequence number. Ids are split into two long columns,
+ * salary and age are int columns, and names, titles and email domains are int codes into {@link StringDictionary}s.
+ * The local parts of the emails are concatenated as UTF-8 into one byte column, delimited by the offset where each
+ * row's part ends. Ids are indexed by a primitive {@link UuidRowIndex}, lower-cased names by the rows sharing them. A
+ * delete only marks its row, so rows never move and the columns only ever grow.
+ * <p>
+ * {@link MockEmployee}s are built on demand: {@link #findById} and {@link #page} build the few they return, and a
+ * snapshot is a list over the live rows that builds each employee as it is read, typically while the response is
+ * serialized. Writes append under the lock of {@link AbstractEmployeeStore}; lookups and pages take its read side,
+ * since the id index is rearranged in place.
+ * <p>
+ * {@code Integer.MIN_VALUE} stands for a missing salary or age, which validation never lets through.
+ */
+public class ColumnarEmployeeStore extends AbstractEmployeeStore {
+
+    static final int NULL_INT = Integer.MIN_VALUE;
+    static final int NULL_CODE = -1;
+    static final byte HAS_ID = 1;
+    static final byte HAS_EMAIL = 2;
+    static final byte DELETED = 4;
+
+    private static final int MIN_CAPACITY = 16;
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+    private final StringDictionary names = new StringDictionary();
+    private final StringDictionary titles = new StringDictionary();
+    private final StringDictionary emailDomains = new StringDictionary();
+    private final Map<String, RowList> byName = new HashMap<>();
+    private final UuidRowIndex byId;
+
+    private volatile Columns columns;
+    private volatile int rowCount;
+    private volatile int size;
+
+    public ColumnarEmployeeStore(@NonNull Collection<MockEmployee> employees) {
+        this(employees, DEFAULT_RETAINED_CHANGES);
+    }
+
+    public ColumnarEmployeeStore(@NonNull Collection<MockEmployee> employees, int retainedChanges) {
+        super(retainedChanges);
+        this.byId = new UuidRowIndex(employees.size());
+        this.columns = new Columns(Math.max(MIN_CAPACITY, employees.size()), MIN_CAPACITY);
+        load(employees);
+    }
+
+    /*
+     * Adopts columns filled elsewhere, e.g. read from an EmployeeDataFile, as of the given version and epoch. Every
+     * row must be live and its codes must index the given dictionary values; only the indexes are rebuilt.
+     */
+    ColumnarEmployeeStore(
+            Columns columns,
+            int rowCount,
+            List<String> names,
+            List<String> titles,
+            List<String> emailDomains,
+            long version,
+            long epoch,
+            int retainedChanges) {
+        super(retainedChanges);
+        names.forEach(this.names::encode);
+        titles.forEach(this.titles::encode);
+        emailDomains.forEach(this.emailDomains::encode);
+        this.byId = new UuidRowIndex(rowCount);
+        this.columns = columns;
+        this.rowCount = rowCount;
+        this.size = rowCount;
+        for (int row = 0; row < rowCount; row++) {
+            if ((columns.flags[row] & HAS_ID) != 0) {
+                byId.put(columns.idMostSignificant[row], columns.idLeastSignificant[row], row);
+            }
+        }
+        indexNames();
+        startChangeLog(version, epoch);
+    }
+
+    @Override
+    public EmployeePage page(long cursor, int limit) {
+        readLock().lock();
+        try {
+            final var end = rowCount;
+            if (cursor >= end) {
+                return new EmployeePage(List.of(), end, end);
+            }
+            final var start = (int) Math.max(0, cursor);
+            final var next = (int) Math.min(end, cursor + limit);
+            final var c = columns;
+            final var employees = new ArrayList<MockEmployee>(next - start);
+            for (int row = start; row < next; row++) {
+                if ((c.flags[row] & DELETED) == 0) {
+                    employees.add(view(c, row));
+                }
+            }
+            return new EmployeePage(List.copyOf(employees), next, end);
+        } finally {
+            readLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<MockEmployee> findById(@NonNull UUID id) {
+        readLock().lock();
+        try {
+            final var row = byId.get(id.getMostSignificantBits(), id.getLeastSignificantBits());
+            return row == UuidRowIndex.ABSENT ? Optional.empty() : Optional.of(view(columns, row));
+        } finally {
+            readLock().unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the live rows of the latest snapshot with the columns and dictionaries they are read from. Nothing in
+     * the image changes afterwards, so it can be read without the lock.
+     */
+    Image image() {
+        final var snapshot = snapshot();
+        if (snapshot.employees() instanceof RowsView view) {
+            return new Image(view.source, view.rows, names, titles, emailDomains, snapshot.version(), epoch());
+        }
+        return new Image(columns, new int[0], names, titles, emailDomains, snapshot.version(), epoch());
+    }
+
+    @Override
+    protected List<MockEmployee> copyAll() {
+        final var c = columns;
+        final var end = rowCount;
+        final var rows = new int[size];
+        int live = 0;
+        for (int row = 0; row < end; row++) {
+            if ((c.flags[row] & DELETED) == 0) {
+                rows[live++] = row;
+            }
+        }
+        return new RowsView(c, rows);
+    }
+
+    @Override
+    protected void add(MockEmployee employee) {
+        final var id = employee.getId();
+        if (id != null) {
+            removeById(id);
+        }
+        final var email = employee.getEmail();
+        final var at = email != null ? email.lastIndexOf('@') : -1;
+        final var localPart = email != null
+                ? (at >= 0 ? email.substring(0, at) : email).getBytes(StandardCharsets.UTF_8)
+                : new byte[0];
+
+        final var row = rowCount;
+        var c = columns;
+        final var emailStart = c.emailStart(row);
+        if (row == c.capacity() || emailStart + localPart.length > c.emailBytes.length) {
+            c = c.copy(grow(c.capacity(), row + 1), grow(c.emailBytes.length, emailStart + (long) localPart.length));
+            columns = c;
+        }
+
+        byte flags = 0;
+        if (id != null) {
+            c.idMostSignificant[row] = id.getMostSignificantBits();
+            c.idLeastSignificant[row] = id.getLeastSignificantBits();
+            flags |= HAS_ID;
+            byId.put(id.getMostSignificantBits(), id.getLeastSignificantBits(), row);
+        }
+        c.salaries[row] = employee.getSalary() != null ? employee.getSalary() : NULL_INT;
+        c.ages[row] = employee.getAge() != null ? employee.getAge() : NULL_INT;
+        c.names[row] = encode(names, employee.getName());
+        c.titles[row] = encode(titles, employee.getTitle());
+        c.emailDomains[row] = at >= 0 ? emailDomains.encode(email.substring(at + 1)) : NULL_CODE;
+        System.arraycopy(localPart, 0, c.emailBytes, emailStart, localPart.length);
+        c.emailEnds[row] = emailStart + localPart.length;
+        if (email != null) {
+            flags |= HAS_EMAIL;
+        }
+        c.flags[row] = flags;
+        if (employee.getName() != null) {
+            byName.computeIfAbsent(normalize(employee.getName()), ignored -> new RowList()).add(row);
+        }
+        rowCount = row + 1;
+        size++;
+    }
+
+    @Override
+    protected Optional<MockEmployee> removeByName(String name) {
+        final var rows = byName.get(normalize(name));
+        return rows == null ? Optional.empty() : Optional.of(remove(rows.first()));
+    }
+
+    @Override
+    protected Optional<MockEmployee> removeById(UUID id) {
+        final var row = byId.get(id.getMostSignificantBits(), id.getLeastSignificantBits());
+        return row == UuidRowIndex.ABSENT ? Optional.empty() : Optional.of(remove(row));
+    }
+
+    private MockEmployee remove(int row) {
+        final var c = columns;
+        final var employee = view(c, row);
+        c.flags[row] |= DELETED;
+        size--;
+        if ((c.flags[row] & HAS_ID) != 0) {
+            byId.remove(c.idMostSignificant[row], c.idLeastSignificant[row]);
+        }
+        if (employee.getName() != null) {
+            final var key = normalize(employee.getName());
+            final var rows = byName.get(key);
+            rows.remove(row);
+            if (rows.isEmpty()) {
+                byName.remove(key);
+            }
+        }
+        return employee;
+    }
+
+    /*
+     * Groups the rows by name code with a counting pass, so only distinct names are hashed. Names that differ only
+     * in case share a key; their sorted row lists are merged.
+     */
+    private void indexNames() {
+        final var c = columns;
+        final var counts = new int[names.size()];
+        for (int row = 0; row < rowCount; row++) {
+            if (c.names[row] != NULL_CODE) {
+                counts[c.names[row]]++;
+            }
+        }
+        final var lists = new RowList[counts.length];
+        for (int code = 0; code < counts.length; code++) {
+            lists[code] = new RowList(counts[code]);
+        }
+        for (int row = 0; row < rowCount; row++) {
+            if (c.names[row] != NULL_CODE) {
+                lists[c.names[row]].add(row);
+            }
+        }
+        for (int code = 0; code < lists.length; code++) {
+            if (!lists[code].isEmpty()) {
+                byName.merge(normalize(names.decode(code)), lists[code], RowList::merge);
+            }
+        }
+    }
+
+    private MockEmployee view(Columns c, int row) {
+        return new MockEmployee(
+                (c.flags[row] & HAS_ID) != 0 ? new UUID(c.idMostSignificant[row], c.idLeastSignificant[row]) : null,
+                decode(names, c.names[row]),
+                c.salaries[row] != NULL_INT ? c.salaries[row] : null,
+                c.ages[row] != NULL_INT ? c.ages[row] : null,
+                decode(titles, c.titles[row]),
+                email(c, row));
+    }
+
+    private String email(Columns c, int row) {
+        if ((c.flags[row] & HAS_EMAIL) == 0) {
+            return null;
+        }
+        final var start = c.emailStart(row);
+        final var localPart = new String(c.emailBytes, start, c.emailEnds[row] - start, StandardCharsets.UTF_8);
+        return c.emailDomains[row] != NULL_CODE
+                ? localPart + '@' + emailDomains.decode(c.emailDomains[row])
+                : localPart;
+    }
+
+    private static int grow(int capacity, long required) {
+        if (required <= capacity) {
+            return capacity;
+        }
+        if (required > MAX_CAPACITY) {
+            throw new IllegalStateException("Columnar employee store is full");
+        }
+        return (int) Math.min(MAX_CAPACITY, Math.max(required, capacity * 2L));
+    }
+
+    private static int encode(StringDictionary dictionary, String value) {
+        return value != null ? dictionary.encode(value) : NULL_CODE;
+    }
+
+    private static String decode(StringDictionary dictionary, int code) {
+        return code != NULL_CODE ? dictionary.decode(code) : null;
+    }
+
+    private static String normalize(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Column arrays sharing one row capacity, plus the email bytes with their own. Rows below the row count are never
+     * written again, except for their flags, so a reader holding an older instance still sees every row that existed
+     * when it was replaced.
+     */
+    static final class Columns {
+
+        final long[] idMostSignificant;
+        final long[] idLeastSignificant;
+        final int[] salaries;
+        final int[] ages;
+        final int[] names;
+        final int[] titles;
+        final int[] emailDomains;
+        final int[] emailEnds;
+        final byte[] flags;
+        final byte[] emailBytes;
+
+        Columns(int capacity, int emailCapacity) {
+            this(
+                    new long[capacity],
+                    new long[capacity],
+                    new int[capacity],
+                    new int[capacity],
+                    new int[capacity],
+                    new int[capacity],
+                    new int[capacity],
+                    new int[capacity],
+                    new byte[capacity],
+                    new byte[emailCapacity]);
+        }
+
+        private Columns(
+                long[] idMostSignificant,
+                long[] idLeastSignificant,
+                int[] salaries,
+                int[] ages,
+                int[] names,
+                int[] titles,
+                int[] emailDomains,
+                int[] emailEnds,
+                byte[] flags,
+                byte[] emailBytes) {
+            this.idMostSignificant = idMostSignificant;
+            this.idLeastSignificant = idLeastSignificant;
+            this.salaries = salaries;
+            this.ages = ages;
+            this.names = names;
+            this.titles = titles;
+            this.emailDomains = emailDomains;
+            this.emailEnds = emailEnds;
+            this.flags = flags;
+            this.emailBytes = emailBytes;
+        }
+
+        int capacity() {
+            return flags.length;
+        }
+
+        int emailStart(int row) {
+            return row == 0 ? 0 : emailEnds[row - 1];
+        }
+
+        Columns copy(int capacity, int emailCapacity) {
+            return new Columns(
+                    Arrays.copyOf(idMostSignificant, capacity),
+                    Arrays.copyOf(idLeastSignificant, capacity),
+                    Arrays.copyOf(salaries, capacity),
+                    Arrays.copyOf(ages, capacity),
+                    Arrays.copyOf(names, capacity),
+                    Arrays.copyOf(titles, capacity),
+                    Arrays.copyOf(emailDomains, capacity),
+                    Arrays.copyOf(emailEnds, capacity),
+                    Arrays.copyOf(flags, capacity),
+                    Arrays.copyOf(emailBytes, emailCapacity));
+        }
+    }
+
+    record Image(
+            Columns columns,
+            int[] rows,
+            StringDictionary names,
+            StringDictionary titles,
+            StringDictionary emailDomains,
+            long version,
+            long epoch) {}
+
+    /*
+     * Ascending rows sharing one lower-cased name. Names repeat only a handful of times, so removal shifts in place.
+     */
+    private static final class RowList {
+
+        private int[] rows;
+        private int size;
+
+        RowList() {
+            this(1);
+        }
+
+        RowList(int capacity) {
+            this.rows = new int[Math.max(1, capacity)];
+        }
+
+        void add(int row) {
+            if (size == rows.length) {
+                rows = Arrays.copyOf(rows, size * 2);
+            }
+            rows[size++] = row;
+        }
+
+        int first() {
+            return rows[0];
+        }
+
+        void remove(int row) {
+            final var index = Arrays.binarySearch(rows, 0, size, row);
+            if (index >= 0) {
+                System.arraycopy(rows, index + 1, rows, index, size - index - 1);
+                size--;
+            }
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        RowList merge(RowList other) {
+            final var merged = new RowList(size + other.size);
+            int i = 0;
+            int j = 0;
+            while (i < size || j < other.size) {
+                merged.add(j == other.size || (i < size && rows[i] < other.rows[j]) ? rows[i++] : other.rows[j++]);
+            }
+            return merged;
+        }
+    }
+
+    /*
+     * Snapshot over the rows that were live when it was taken; each get builds a fresh employee from the columns.
+     */
+    private final class RowsView extends AbstractList<MockEmployee> implements RandomAccess {
+
+        private final Columns source;
+        private final int[] rows;
+
+        RowsView(Columns source, int[] rows) {
+            this.source = source;
+            this.rows = rows;
+        }
+
+        @Override
+        public MockEmployee get(int index) {
+            return view(source, rows[Objects.checkIndex(index, rows.length)]);
+        }
+
+        @Override
+        public int size() {
+            return rows.length;
+        }
+    }
+}
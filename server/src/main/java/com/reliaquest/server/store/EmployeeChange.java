@@ -0,0 +1,15 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.model.MockEmployee;
+
+/**
+ * One write to the store. {@code version} is the store version the write produced, so the changes of a store are
+ * numbered consecutively from the version of its first write.
+ */
+public record EmployeeChange(long version, Type type, MockEmployee employee) {
+
+    public enum Type {
+        CREATED,
+        DELETED
+    }
+}
@@ -0,0 +1,8 @@
+package com.reliaquest.server.store;
+
+import java.util.List;
+
+/**
+ * The writes that took a reader from the version it asked about to {@code version}, oldest first.
+ */
+public record EmployeeChanges(long version, List<EmployeeChange> changes) {}
@@ -0,0 +1,418 @@
+package com.reliaquest.server.store;
+
+import static com.reliaquest.server.store.ColumnarEmployeeStore.DELETED;
+import static com.reliaquest.server.store.ColumnarEmployeeStore.NULL_CODE;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntToLongFunction;
+import java.util.function.IntUnaryOperator;
+import lombok.NonNull;
+
+/**
+ * Binary image of the employees in the column layout of {@link ColumnarEmployeeStore}, written and read through
+ * memory mapping.
+ * <p>
+ * After a header holding the store version and its epoch, the row count and the section sizes, each column follows as
+ * one little-endian section in row order, then the email bytes and the three dictionaries as length-prefixed UTF-8.
+ * Reading bulk-copies every mapped section straight into a column array, so no row is parsed; only the id and name
+ * indexes are rebuilt, and the store continues from the saved version in the saved epoch. Writing gathers the live rows
+ * of the latest snapshot, dropping deleted rows and unused dictionary entries, into a freshly created temporary file
+ * that replaces the previous one atomically once its contents and length are forced to disk, after which the directory
+ * is forced too so the rename survives a crash. Each write gets its own temporary file, so overlapping writers never
+ * truncate each other's. Neither blocks writers. Dictionary codes and email offsets are checked on read, so a damaged
+ * file is rejected instead of failing later on some row.
+ */
+public final class EmployeeDataFile {
+
+    private static final int MAGIC = 0x504D454D; // "MEMP"
+    private static final int FORMAT_VERSION = 3;
+    private static final int HEADER_BYTES = 7 * Integer.BYTES + 2 * Long.BYTES;
+    private static final int ROW_BYTES = 2 * Long.BYTES + 6 * Integer.BYTES + 1;
+    private static final int WINDOW_BYTES = 1 << 30;
+
+    private EmployeeDataFile() {}
+
+    public static ColumnarEmployeeStore read(@NonNull Path file, int retainedChanges) throws IOException {
+        try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final var in = new Input(channel);
+            if (channel.size() < HEADER_BYTES || in.getInt() != MAGIC || in.getInt() != FORMAT_VERSION) {
+                throw new IOException(file + " is not an employee data file of version " + FORMAT_VERSION);
+            }
+            final var version = in.getLong();
+            final var epoch = in.getLong();
+            final var rowCount = in.getInt();
+            final var emailByteCount = in.getInt();
+            final var nameCount = in.getInt();
+            final var titleCount = in.getInt();
+            final var domainCount = in.getInt();
+            if (rowCount < 0
+                    || emailByteCount < 0
+                    || channel.size() < HEADER_BYTES + (long) rowCount * ROW_BYTES + emailByteCount) {
+                throw new IOException(file + " is truncated");
+            }
+            if (nameCount < 0
+                    || titleCount < 0
+                    || domainCount < 0
+                    || ((long) nameCount + titleCount + domainCount) * Integer.BYTES > channel.size()) {
+                throw corrupt(file);
+            }
+
+            final var columns = new ColumnarEmployeeStore.Columns(rowCount, emailByteCount);
+            in.longs(columns.idMostSignificant, rowCount);
+            in.longs(columns.idLeastSignificant, rowCount);
+            in.ints(columns.salaries, rowCount);
+            in.ints(columns.ages, rowCount);
+            in.ints(columns.names, rowCount);
+            in.ints(columns.titles, rowCount);
+            in.ints(columns.emailDomains, rowCount);
+            in.ints(columns.emailEnds, rowCount);
+            in.bytes(columns.flags, rowCount);
+            in.bytes(columns.emailBytes, emailByteCount);
+            final var names = in.strings(nameCount);
+            final var titles = in.strings(titleCount);
+            final var emailDomains = in.strings(domainCount);
+            checkCodes(file, columns.names, rowCount, names.size());
+            checkCodes(file, columns.titles, rowCount, titles.size());
+            checkCodes(file, columns.emailDomains, rowCount, emailDomains.size());
+            checkEmailEnds(file, columns.emailEnds, rowCount, emailByteCount);
+            return new ColumnarEmployeeStore(
+                    columns, rowCount, names, titles, emailDomains, version, epoch, retainedChanges);
+        }
+    }
+
+    /**
+     * Writes the latest snapshot of the store, returning the version it was taken at. Stores of any other layout are
+     * converted to columns first.
+     */
+    public static long write(@NonNull Path file, @NonNull EmployeeStore store) throws IOException {
+        final ColumnarEmployeeStore.Image image;
+        if (store instanceof ColumnarEmployeeStore columnar) {
+            image = columnar.image();
+        } else {
+            final var snapshot = store.snapshot();
+            final var converted = new ColumnarEmployeeStore(snapshot.employees(), 0).image();
+            image = new ColumnarEmployeeStore.Image(
+                    converted.columns(),
+                    converted.rows(),
+                    converted.names(),
+                    converted.titles(),
+                    converted.emailDomains(),
+                    snapshot.version(),
+                    store.epoch());
+        }
+        write(file, image);
+        return image.version();
+    }
+
+    private static void write(Path file, ColumnarEmployeeStore.Image image) throws IOException {
+        final var c = image.columns();
+        final var rows = image.rows();
+        final var names = new Recoder(image.names());
+        final var titles = new Recoder(image.titles());
+        final var emailDomains = new Recoder(image.emailDomains());
+        long emailByteCount = 0;
+        for (int row : rows) {
+            names.use(c.names[row]);
+            titles.use(c.titles[row]);
+            emailDomains.use(c.emailDomains[row]);
+            emailByteCount += c.emailEnds[row] - c.emailStart(row);
+        }
+        final var size = HEADER_BYTES
+                + (long) rows.length * ROW_BYTES
+                + emailByteCount
+                + names.encodedBytes()
+                + titles.encodedBytes()
+                + emailDomains.encodedBytes();
+
+        final var directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        // A fresh name per write, so concurrent writers never share a temporary file.
+        final var temp = Files.createTempFile(directory, file.getFileName() + ".", ".tmp");
+        try {
+            try (var channel = FileChannel.open(temp, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                final var out = new Output(channel, size);
+                out.putInt(MAGIC);
+                out.putInt(FORMAT_VERSION);
+                out.putLong(image.version());
+                out.putLong(image.epoch());
+                out.putInt(rows.length);
+                out.putInt((int) emailByteCount);
+                out.putInt(names.values.size());
+                out.putInt(titles.values.size());
+                out.putInt(emailDomains.values.size());
+                out.longs(rows.length, i -> c.idMostSignificant[rows[i]]);
+                out.longs(rows.length, i -> c.idLeastSignificant[rows[i]]);
+                out.ints(rows.length, i -> c.salaries[rows[i]]);
+                out.ints(rows.length, i -> c.ages[rows[i]]);
+                out.ints(rows.length, i -> names.recode(c.names[rows[i]]));
+                out.ints(rows.length, i -> titles.recode(c.titles[rows[i]]));
+                out.ints(rows.length, i -> emailDomains.recode(c.emailDomains[rows[i]]));
+                final var emailEnd = new int[1];
+                out.ints(rows.length, i -> emailEnd[0] += c.emailEnds[rows[i]] - c.emailStart(rows[i]));
+                for (int row : rows) {
+                    out.put((byte) (c.flags[row] & ~DELETED));
+                }
+                for (int row : rows) {
+                    out.put(c.emailBytes, c.emailStart(row), c.emailEnds[row] - c.emailStart(row));
+                }
+                names.writeTo(out);
+                titles.writeTo(out);
+                emailDomains.writeTo(out);
+                out.finish();
+                // The mapped pages are forced per window; this also forces the length the mapping gave the file.
+                channel.force(true);
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        forceDirectory(directory);
+    }
+
+    /*
+     * Makes the rename durable. Some platforms cannot open a directory for reading; there the rename is as durable as
+     * the file system makes it.
+     */
+    private static void forceDirectory(Path directory) {
+        try (var channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Not supported here.
+        }
+    }
+
+    private static void checkCodes(Path file, int[] codes, int rowCount, int dictionarySize) throws IOException {
+        for (int row = 0; row < rowCount; row++) {
+            if (codes[row] < NULL_CODE || codes[row] >= dictionarySize) {
+                throw corrupt(file);
+            }
+        }
+    }
+
+    private static void checkEmailEnds(Path file, int[] emailEnds, int rowCount, int emailByteCount)
+            throws IOException {
+        var start = 0;
+        for (int row = 0; row < rowCount; row++) {
+            if (emailEnds[row] < start || emailEnds[row] > emailByteCount) {
+                throw corrupt(file);
+            }
+            start = emailEnds[row];
+        }
+    }
+
+    private static IOException corrupt(Path file) {
+        return new IOException(file + " is corrupt");
+    }
+
+    /*
+     * Renumbers the dictionary codes the written rows use, in order of first use, so entries only deleted rows
+     * referred to are dropped.
+     */
+    private static final class Recoder {
+
+        private final StringDictionary source;
+        private final int[] codes;
+        private final List<byte[]> values = new ArrayList<>();
+
+        Recoder(StringDictionary source) {
+            this.source = source;
+            this.codes = new int[source.codeLimit()];
+            Arrays.fill(codes, NULL_CODE);
+        }
+
+        void use(int code) {
+            if (code != NULL_CODE && codes[code] == NULL_CODE) {
+                codes[code] = values.size();
+                values.add(source.decode(code).getBytes(StandardCharsets.UTF_8));
+            }
+        }
+
+        int recode(int code) {
+            return code == NULL_CODE ? NULL_CODE : codes[code];
+        }
+
+        long encodedBytes() {
+            return values.stream().mapToLong(value -> Integer.BYTES + value.length).sum();
+        }
+
+        void writeTo(Output out) {
+            for (byte[] value : values) {
+                out.putInt(value.length);
+                out.put(value, 0, value.length);
+            }
+        }
+    }
+
+    /*
+     * Sequential reads over mapped windows of at most WINDOW_BYTES; a new window starts wherever the last one could
+     * not hold the next value.
+     */
+    private static final class Input {
+
+        private final FileChannel channel;
+        private MappedByteBuffer window;
+        private long windowStart;
+
+        Input(FileChannel channel) throws IOException {
+            this.channel = channel;
+            map(0);
+        }
+
+        int getInt() throws IOException {
+            ensure(Integer.BYTES);
+            return window.getInt();
+        }
+
+        long getLong() throws IOException {
+            ensure(Long.BYTES);
+            return window.getLong();
+        }
+
+        void longs(long[] target, int count) throws IOException {
+            for (int done = 0; done < count; ) {
+                ensure(Long.BYTES);
+                final var n = Math.min(count - done, window.remaining() / Long.BYTES);
+                window.asLongBuffer().get(target, done, n);
+                window.position(window.position() + n * Long.BYTES);
+                done += n;
+            }
+        }
+
+        void ints(int[] target, int count) throws IOException {
+            for (int done = 0; done < count; ) {
+                ensure(Integer.BYTES);
+                final var n = Math.min(count - done, window.remaining() / Integer.BYTES);
+                window.asIntBuffer().get(target, done, n);
+                window.position(window.position() + n * Integer.BYTES);
+                done += n;
+            }
+        }
+
+        void bytes(byte[] target, int count) throws IOException {
+            for (int done = 0; done < count; ) {
+                ensure(1);
+                final var n = Math.min(count - done, window.remaining());
+                window.get(target, done, n);
+                done += n;
+            }
+        }
+
+        List<String> strings(int count) throws IOException {
+            final var strings = new ArrayList<String>(count);
+            for (int i = 0; i < count; i++) {
+                final var length = getInt();
+                if (length < 0 || length > channel.size() - windowStart - window.position()) {
+                    throw new IOException("Unexpected end of employee data file");
+                }
+                final var bytes = new byte[length];
+                bytes(bytes, length);
+                strings.add(new String(bytes, StandardCharsets.UTF_8));
+            }
+            return strings;
+        }
+
+        private void ensure(int bytes) throws IOException {
+            if (window.remaining() < bytes) {
+                map(windowStart + window.position());
+                if (window.remaining() < bytes) {
+                    throw new IOException("Unexpected end of employee data file");
+                }
+            }
+        }
+
+        private void map(long position) throws IOException {
+            windowStart = position;
+            window = channel.map(
+                    FileChannel.MapMode.READ_ONLY, position, Math.min(WINDOW_BYTES, channel.size() - position));
+            window.order(ByteOrder.LITTLE_ENDIAN);
+        }
+    }
+
+    /*
+     * Sequential writes over mapped windows of a file of known size; each window is forced to disk when left.
+     */
+    private static final class Output {
+
+        private final FileChannel channel;
+        private final long size;
+        private MappedByteBuffer window;
+        private long windowStart;
+
+        Output(FileChannel channel, long size) throws IOException {
+            this.channel = channel;
+            this.size = size;
+            map(0);
+        }
+
+        void putInt(int value) {
+            ensure(Integer.BYTES);
+            window.putInt(value);
+        }
+
+        void putLong(long value) {
+            ensure(Long.BYTES);
+            window.putLong(value);
+        }
+
+        void put(byte value) {
+            ensure(1);
+            window.put(value);
+        }
+
+        void put(byte[] source, int offset, int length) {
+            for (int done = 0; done < length; ) {
+                ensure(1);
+                final var n = Math.min(length - done, window.remaining());
+                window.put(source, offset + done, n);
+                done += n;
+            }
+        }
+
+        void longs(int count, IntToLongFunction values) {
+            for (int i = 0; i < count; i++) {
+                ensure(Long.BYTES);
+                window.putLong(values.applyAsLong(i));
+            }
+        }
+
+        void ints(int count, IntUnaryOperator values) {
+            for (int i = 0; i < count; i++) {
+                ensure(Integer.BYTES);
+                window.putInt(values.applyAsInt(i));
+            }
+        }
+
+        void finish() {
+            window.force();
+        }
+
+        private void ensure(int bytes) {
+            if (window.remaining() < bytes) {
+                window.force();
+                try {
+                    map(windowStart + window.position());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+
+        private void map(long position) throws IOException {
+            windowStart = position;
+            window = channel.map(FileChannel.MapMode.READ_WRITE, position, Math.min(WINDOW_BYTES, size - position));
+            window.order(ByteOrder.LITTLE_ENDIAN);
+        }
+    }
+}
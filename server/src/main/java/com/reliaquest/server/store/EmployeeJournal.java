@@ -0,0 +1,25 @@
+package com.reliaquest.server.store;
+
+/**
+ * Receives every write of an {@link AbstractEmployeeStore} in the order the store applies them.
+ */
+public interface EmployeeJournal {
+
+    /**
+     * Called under the store's write lock before each write. Throws when the journal can no longer take changes, and
+     * the store then rejects the write without applying it.
+     */
+    void checkWritable();
+
+    /**
+     * Called under the store's write lock once the change is applied and its version published, so it must not block
+     * or throw. A change the journal can no longer take is dropped here and reported by {@link #sync}.
+     */
+    void append(EmployeeChange change);
+
+    /**
+     * Blocks until every change appended before the call is durable, or throws if one of them never will be. Called by
+     * the writing thread after it released the store's lock.
+     */
+    void sync();
+}
@@ -0,0 +1,16 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.List;
+
+/**
+ * Employees whose insertion sequence falls in {@code [cursor, next)}. {@code end} is the first sequence number not yet
+ * assigned when the page was read, so every window up to {@code end} can be requested independently and in parallel.
+ * Windows may hold fewer employees than their width where employees have been deleted.
+ */
+public record EmployeePage(List<MockEmployee> employees, long next, long end) {
+
+    public boolean hasNext() {
+        return next < end;
+    }
+}
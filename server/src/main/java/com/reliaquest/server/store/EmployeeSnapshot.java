@@ -0,0 +1,9 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.List;
+
+/**
+ * Immutable view of the store as of one version. Versions increase by one with every write.
+ */
+public record EmployeeSnapshot(long version, List<MockEmployee> employees) {}
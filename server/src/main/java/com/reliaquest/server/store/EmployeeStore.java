@@ -0,0 +1,59 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import lombok.NonNull;
+
+/**
+ * Thread-safe home of the mock employees. Implementations must allow reads to run concurrently with writes and
+ * list employees in insertion order.
+ */
+public interface EmployeeStore {
+
+    /**
+     * Returns the latest published version. The snapshot never changes once returned, so callers may read it
+     * without holding any lock while writes continue.
+     */
+    EmployeeSnapshot snapshot();
+
+    default List<MockEmployee> findAll() {
+        return snapshot().employees();
+    }
+
+    /**
+     * Returns the employees in the sequence window starting at {@code cursor} and at most {@code limit} wide.
+     */
+    EmployeePage page(long cursor, int limit);
+
+    Optional<MockEmployee> findById(@NonNull UUID id);
+
+    MockEmployee insert(@NonNull MockEmployee employee);
+
+    /**
+     * Inserts all employees in order as one batch of writes; readers may observe part of a batch.
+     */
+    List<MockEmployee> insertAll(@NonNull List<MockEmployee> employees);
+
+    /**
+     * Removes the earliest inserted employee whose name matches, ignoring case.
+     */
+    Optional<MockEmployee> deleteByName(@NonNull String name);
+
+    Optional<MockEmployee> deleteById(@NonNull UUID id);
+
+    /**
+     * Returns every write made after {@code version}, or empty when some of them are no longer retained, or when
+     * {@code version} is ahead of the store, and the caller has to read the full list again.
+     */
+    Optional<EmployeeChanges> changesSince(long version);
+
+    /**
+     * Identifies the sequence the versions count in. A freshly generated store starts a new epoch, while one reopened
+     * from its data file keeps the epoch saved there, so versions from different epochs must not be compared.
+     */
+    long epoch();
+
+    int size();
+}
@@ -0,0 +1,538 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Durable log of the writes made to a store on top of its {@link EmployeeDataFile}, with group commit.
+ * <p>
+ * Writers only serialize their change into an in-memory batch while they hold the store lock. A single flusher thread
+ * writes whatever has accumulated and forces it to disk with one fsync; every writer whose change was in the batch is
+ * released by that fsync. Concurrent writers therefore share fsyncs instead of queueing for one each, and the more of
+ * them there are the larger the batches get.
+ * <p>
+ * The log is a series of segment files next to the data file, named {@code <data file>.wal.<n>}, each a sequence of
+ * length- and CRC-framed records carrying the store version they produced, with strings as length-prefixed UTF-8.
+ * Every start opens a new segment, so a torn record can only end the last segment of an earlier run, where replay
+ * stops. Replay applies, in order, the records whose version is newer than the data file.
+ * <p>
+ * Once a write to the log has failed, or the log is closed, the store rejects every further write before applying
+ * it, and nothing more is buffered. A write that raced with the failure or the close gets the error from its sync.
+ * Closing a failed log neither saves the data file nor deletes the log, so such writes do not reappear after a restart.
+ * <p>
+ * Once the segments outgrow the compaction threshold a background compaction switches to a new segment, saves the
+ * store to the data file and deletes the segments that the data file now covers. Closing the log does the same with
+ * every segment, so a clean shutdown leaves just the data file.
+ */
+@Slf4j
+public final class EmployeeWriteAheadLog implements EmployeeJournal, Closeable {
+
+    private static final String SEGMENT_INFIX = ".wal.";
+    private static final byte CREATED = 1;
+    private static final byte DELETED = 2;
+
+    private final Path dataFile;
+    private final AbstractEmployeeStore store;
+    private final long compactionThreshold;
+    private final List<Path> closedSegments = new ArrayList<>();
+    private final ExecutorService compactor = Executors.newSingleThreadExecutor(
+            runnable -> Thread.ofPlatform().name("employee-wal-compactor").daemon().unstarted(runnable));
+    private final AtomicBoolean compacting = new AtomicBoolean();
+    private final Thread flusher;
+
+    private final Lock lock = new ReentrantLock();
+    private final Condition pending = lock.newCondition();
+    private final Condition flushed = lock.newCondition();
+    private ByteArrayOutputStream batch = new ByteArrayOutputStream();
+    private long appendedVersion;
+    private long durableVersion;
+    private boolean rotationRequested;
+    private long rotations;
+    private long logBytes;
+    private boolean closed;
+    private boolean stopped;
+    private IOException failure;
+
+    // Owned by the flusher thread once it runs.
+    private FileChannel segment;
+    private Path segmentPath;
+    private long segmentNumber;
+
+    private EmployeeWriteAheadLog(Path dataFile, AbstractEmployeeStore store, long compactionThreshold) {
+        this.dataFile = dataFile;
+        this.store = store;
+        this.compactionThreshold = compactionThreshold;
+        this.flusher = Thread.ofPlatform().name("employee-wal-flusher").daemon().unstarted(this::flush);
+    }
+
+    /**
+     * Replays the log of {@code dataFile} into {@code store}, which must hold exactly what that data file holds, then
+     * journals every later write of the store.
+     */
+    public static EmployeeWriteAheadLog open(
+            @NonNull Path dataFile, @NonNull AbstractEmployeeStore store, long compactionThreshold) throws IOException {
+        final var wal = new EmployeeWriteAheadLog(dataFile, store, compactionThreshold);
+        wal.replay();
+        wal.openSegment(wal.segmentNumber + 1);
+        wal.appendedVersion = store.version();
+        wal.durableVersion = store.version();
+        store.journalTo(wal);
+        wal.flusher.start();
+        return wal;
+    }
+
+    /**
+     * Deletes the log of {@code dataFile}, for when the data file is replaced by one the log does not apply to.
+     */
+    public static void delete(@NonNull Path dataFile) throws IOException {
+        for (Path segment : segments(dataFile)) {
+            Files.delete(segment);
+        }
+    }
+
+    @Override
+    public void checkWritable() {
+        lock.lock();
+        try {
+            if (failure != null) {
+                throw new UncheckedIOException("Employee write-ahead log failed", failure);
+            }
+            if (closed) {
+                throw new IllegalStateException("Employee write-ahead log is closed");
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /*
+     * A change dropped here still moves appendedVersion, so the sync of its writer fails instead of returning.
+     */
+    @Override
+    public void append(EmployeeChange change) {
+        final var record = encode(change);
+        lock.lock();
+        try {
+            appendedVersion = change.version();
+            if (closed || failure != null) {
+                return;
+            }
+            batch.writeBytes(record);
+            pending.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void sync() {
+        lock.lock();
+        try {
+            final var target = appendedVersion;
+            while (durableVersion < target) {
+                if (failure != null) {
+                    throw new UncheckedIOException("Employee write-ahead log failed", failure);
+                }
+                if (stopped) {
+                    throw new IllegalStateException("Employee write-ahead log closed before the write was logged");
+                }
+                flushed.awaitUninterruptibly();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Saves the store to the data file and deletes the segments it covers. Writes continue meanwhile, into a new
+     * segment.
+     */
+    public synchronized void compact() throws IOException {
+        final var covered = rotate();
+        final var started = System.nanoTime();
+        final var version = EmployeeDataFile.write(dataFile, store);
+        for (Path path : covered) {
+            Files.deleteIfExists(path);
+        }
+        log.info(
+                "Compacted {} log segments into {} at version {} in {} ms",
+                covered.size(),
+                dataFile,
+                version,
+                (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /*
+     * Waits for a running compaction first; it needs the flusher to switch segments. After a failure the store may hold
+     * writes whose writers were told they failed, so it is not saved and the log is kept: the next start replays what
+     * did reach the disk, and nothing else.
+     */
+    @Override
+    public void close() throws IOException {
+        compactor.shutdown();
+        try {
+            compactor.awaitTermination(1, TimeUnit.MINUTES);
+            lock.lock();
+            try {
+                closed = true;
+                pending.signal();
+            } finally {
+                lock.unlock();
+            }
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while closing the employee write-ahead log", e);
+        }
+        final IOException failed;
+        lock.lock();
+        try {
+            failed = failure;
+        } finally {
+            lock.unlock();
+        }
+        if (failed != null) {
+            segment.close();
+            log.error(
+                    "Employee write-ahead log failed earlier; kept it and did not save {}, so unlogged writes are lost",
+                    dataFile,
+                    failed);
+            return;
+        }
+        synchronized (this) {
+            segment.close();
+            EmployeeDataFile.write(dataFile, store);
+            closedSegments.add(segmentPath);
+            for (Path path : closedSegments) {
+                Files.deleteIfExists(path);
+            }
+        }
+        log.info("Saved {} employees to {} and cleared its log", store.size(), dataFile);
+    }
+
+    private void flush() {
+        while (true) {
+            final byte[] records;
+            final long version;
+            final boolean rotate;
+            lock.lock();
+            try {
+                while (batch.size() == 0 && !rotationRequested && !closed) {
+                    pending.awaitUninterruptibly();
+                }
+                if (batch.size() == 0 && !rotationRequested) {
+                    stopped = true;
+                    flushed.signalAll();
+                    return;
+                }
+                records = batch.toByteArray();
+                batch = new ByteArrayOutputStream(Math.max(32, records.length));
+                version = appendedVersion;
+                rotate = rotationRequested;
+            } finally {
+                lock.unlock();
+            }
+
+            final var written = segmentPath;
+            try {
+                if (records.length > 0) {
+                    for (var buffer = ByteBuffer.wrap(records); buffer.hasRemaining(); ) {
+                        segment.write(buffer);
+                    }
+                    segment.force(false);
+                }
+                if (rotate) {
+                    segment.close();
+                    openSegment(segmentNumber + 1);
+                }
+            } catch (IOException e) {
+                log.error("Employee write-ahead log failed, writes are no longer durable", e);
+                lock.lock();
+                try {
+                    failure = e;
+                    batch = new ByteArrayOutputStream();
+                    flushed.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+                return;
+            }
+
+            final boolean oversized;
+            lock.lock();
+            try {
+                durableVersion = version;
+                logBytes += records.length;
+                if (rotate) {
+                    closedSegments.add(written);
+                    rotationRequested = false;
+                    rotations++;
+                }
+                oversized = logBytes > compactionThreshold;
+                flushed.signalAll();
+            } finally {
+                lock.unlock();
+            }
+            if (oversized && compacting.compareAndSet(false, true)) {
+                compactInBackground();
+            }
+        }
+    }
+
+    private void compactInBackground() {
+        try {
+            compactor.execute(() -> {
+                try {
+                    compact();
+                } catch (IOException | RuntimeException e) {
+                    log.warn("Compacting the employee write-ahead log failed: {}", e.getMessage());
+                } finally {
+                    compacting.set(false);
+                }
+            });
+        } catch (RuntimeException e) {
+            // Closing; the final save covers everything.
+            compacting.set(false);
+        }
+    }
+
+    /*
+     * Has the flusher move on to a new segment, so every change appended so far lies in a closed segment. Returns
+     * those segments; a data file written afterwards covers all of them.
+     */
+    private List<Path> rotate() throws IOException {
+        lock.lock();
+        try {
+            final var target = rotations + 1;
+            rotationRequested = true;
+            pending.signal();
+            while (rotations < target) {
+                if (failure != null) {
+                    throw failure;
+                }
+                if (stopped) {
+                    throw new IOException("Employee write-ahead log is closed");
+                }
+                flushed.awaitUninterruptibly();
+            }
+            final var covered = List.copyOf(closedSegments);
+            closedSegments.clear();
+            logBytes = 0;
+            return covered;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void openSegment(long number) throws IOException {
+        segmentNumber = number;
+        segmentPath = dataFile.resolveSibling(dataFile.getFileName() + SEGMENT_INFIX + number);
+        segment = FileChannel.open(segmentPath, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+    }
+
+    private void replay() throws IOException {
+        final var segments = segments(dataFile);
+        final var started = System.nanoTime();
+        final var from = store.version();
+        for (int i = 0; i < segments.size(); i++) {
+            final var path = segments.get(i);
+            final var last = i == segments.size() - 1;
+            replay(path, last);
+            closedSegments.add(path);
+            segmentNumber = number(path);
+            logBytes += Files.size(path);
+        }
+        if (!segments.isEmpty()) {
+            log.info(
+                    "Replayed {} changes from {} log segments in {} ms",
+                    store.version() - from,
+                    segments.size(),
+                    (System.nanoTime() - started) / 1_000_000);
+        }
+    }
+
+    private void replay(Path path, boolean last) throws IOException {
+        final var size = Files.size(path);
+        long valid = 0;
+        try (var in = new DataInputStream(Files.newInputStream(path))) {
+            while (true) {
+                final byte[] record;
+                try {
+                    final var length = in.readInt();
+                    final var checksum = in.readInt();
+                    if (length < 0 || length > size - valid - 2 * Integer.BYTES) {
+                        throw new EOFException();
+                    }
+                    record = in.readNBytes(length);
+                    if (record.length < length || checksum(record) != checksum) {
+                        throw new EOFException();
+                    }
+                } catch (EOFException e) {
+                    break;
+                }
+                apply(record, path);
+                valid += 2 * Integer.BYTES + record.length;
+            }
+        }
+        if (valid < size) {
+            if (!last) {
+                throw new IOException("Corrupt record in " + path + " at offset " + valid);
+            }
+            log.warn("Dropping a torn record at the end of {}", path);
+            try (var channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                channel.truncate(valid);
+                channel.force(true);
+            }
+        }
+    }
+
+    /*
+     * Records the data file already holds are skipped; every other one must produce the next store version, or the
+     * log does not belong to this data file.
+     */
+    private void apply(byte[] record, Path path) throws IOException {
+        final var in = new DataInputStream(new ByteArrayInputStream(record));
+        final var type = in.readByte();
+        final var version = in.readLong();
+        final var employee = readEmployee(in);
+        if (version <= store.version()) {
+            return;
+        }
+        if (version != store.version() + 1) {
+            throw new IOException(path + " continues at version " + version + " but the store is at version "
+                    + store.version());
+        }
+        if (type == CREATED) {
+            store.insert(employee);
+        } else if (employee.getId() != null) {
+            store.deleteById(employee.getId());
+        } else {
+            store.deleteByName(employee.getName());
+        }
+        if (store.version() != version) {
+            throw new IOException("Replaying version " + version + " from " + path + " did not change the store");
+        }
+    }
+
+    private static byte[] encode(EmployeeChange change) {
+        final var bytes = new ByteArrayOutputStream(128);
+        try (var out = new DataOutputStream(bytes)) {
+            out.writeInt(0);
+            out.writeInt(0);
+            out.writeByte(change.type() == EmployeeChange.Type.CREATED ? CREATED : DELETED);
+            out.writeLong(change.version());
+            writeEmployee(out, change.employee());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        final var record = bytes.toByteArray();
+        final var payloadLength = record.length - 2 * Integer.BYTES;
+        final var crc = new CRC32();
+        crc.update(record, 2 * Integer.BYTES, payloadLength);
+        ByteBuffer.wrap(record).putInt(payloadLength).putInt((int) crc.getValue());
+        return record;
+    }
+
+    private static int checksum(byte[] payload) {
+        final var crc = new CRC32();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    private static void writeEmployee(DataOutputStream out, MockEmployee employee) throws IOException {
+        out.writeBoolean(employee.getId() != null);
+        if (employee.getId() != null) {
+            out.writeLong(employee.getId().getMostSignificantBits());
+            out.writeLong(employee.getId().getLeastSignificantBits());
+        }
+        writeString(out, employee.getName());
+        writeInteger(out, employee.getSalary());
+        writeInteger(out, employee.getAge());
+        writeString(out, employee.getTitle());
+        writeString(out, employee.getEmail());
+    }
+
+    private static MockEmployee readEmployee(DataInputStream in) throws IOException {
+        final var id = in.readBoolean() ? new UUID(in.readLong(), in.readLong()) : null;
+        return new MockEmployee(
+                id, readString(in), readInteger(in), readInteger(in), readString(in), readString(in));
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            final var bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        final var length = in.readInt();
+        if (length < 0 || length > in.available()) {
+            throw new EOFException("String of " + length + " bytes overruns its record");
+        }
+        return new String(in.readNBytes(length), StandardCharsets.UTF_8);
+    }
+
+    private static void writeInteger(DataOutputStream out, Integer value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeInt(value);
+        }
+    }
+
+    private static Integer readInteger(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readInt() : null;
+    }
+
+    private static List<Path> segments(Path dataFile) throws IOException {
+        final var directory = dataFile.toAbsolutePath().getParent();
+        if (directory == null || !Files.isDirectory(directory)) {
+            return List.of();
+        }
+        final var prefix = dataFile.getFileName() + SEGMENT_INFIX;
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().startsWith(prefix))
+                    .filter(path -> path.getFileName().toString().substring(prefix.length()).matches("\\d+"))
+                    .sorted(Comparator.comparingLong(EmployeeWriteAheadLog::number))
+                    .toList();
+        }
+    }
+
+    private static long number(Path segment) {
+        final var name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(name.lastIndexOf('.') + 1));
+    }
+}
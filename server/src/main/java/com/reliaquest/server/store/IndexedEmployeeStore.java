@@ -0,0 +1,138 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import lombok.NonNull;
+
+/**
+ * {@link EmployeeStore} backed by concurrent hash indexes on id and on lower-cased name.
+ * <p>
+ * Every employee gets a sequence number on insert; {@code bySequence} keeps insertion order for listing and each name
+ * maps to the sequence numbers sharing it, so lookups and deletes are O(1) in the number of employees. Reads never
+ * lock; writes go through the lock of {@link AbstractEmployeeStore}, so the three indexes always change together.
+ */
+public class IndexedEmployeeStore extends AbstractEmployeeStore {
+
+    private final Map<UUID, Entry> byId = new ConcurrentHashMap<>();
+    private final Map<String, NavigableSet<Long>> byName = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<Long, MockEmployee> bySequence = new ConcurrentSkipListMap<>();
+
+    private volatile long nextSequence;
+    private volatile int size;
+
+    public IndexedEmployeeStore(@NonNull Collection<MockEmployee> employees) {
+        this(employees, DEFAULT_RETAINED_CHANGES);
+    }
+
+    public IndexedEmployeeStore(@NonNull Collection<MockEmployee> employees, int retainedChanges) {
+        super(retainedChanges);
+        load(employees);
+    }
+
+    /**
+     * Continues from {@code version} of {@code epoch} instead of starting a new epoch, e.g. the ones the employees were
+     * saved at.
+     */
+    public IndexedEmployeeStore(
+            @NonNull Collection<MockEmployee> employees, int retainedChanges, long version, long epoch) {
+        super(retainedChanges);
+        load(employees, version, epoch);
+    }
+
+    @Override
+    public EmployeePage page(long cursor, int limit) {
+        final var end = nextSequence;
+        if (cursor >= end) {
+            return new EmployeePage(List.of(), end, end);
+        }
+        final var next = Math.min(end, cursor + limit);
+        return new EmployeePage(
+                List.copyOf(bySequence.subMap(cursor, next).values()), next, end);
+    }
+
+    @Override
+    public Optional<MockEmployee> findById(@NonNull UUID id) {
+        return Optional.ofNullable(byId.get(id)).map(Entry::employee);
+    }
+
+    /*
+     * Tracked separately because ConcurrentSkipListMap.size() walks the whole map.
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    protected List<MockEmployee> copyAll() {
+        return List.copyOf(bySequence.values());
+    }
+
+    @Override
+    protected void add(MockEmployee employee) {
+        if (employee.getId() != null) {
+            remove(byId.get(employee.getId()));
+        }
+        Entry entry = new Entry(nextSequence++, employee);
+        bySequence.put(entry.sequence(), employee);
+        size++;
+        if (employee.getId() != null) {
+            byId.put(employee.getId(), entry);
+        }
+        if (employee.getName() != null) {
+            byName.computeIfAbsent(normalize(employee.getName()), ignored -> new ConcurrentSkipListSet<>())
+                    .add(entry.sequence());
+        }
+    }
+
+    @Override
+    protected Optional<MockEmployee> removeByName(String name) {
+        NavigableSet<Long> sequences = byName.get(normalize(name));
+        if (sequences == null || sequences.isEmpty()) {
+            return Optional.empty();
+        }
+        MockEmployee employee = bySequence.get(sequences.first());
+        remove(new Entry(sequences.first(), employee));
+        return Optional.of(employee);
+    }
+
+    @Override
+    protected Optional<MockEmployee> removeById(UUID id) {
+        Entry entry = byId.get(id);
+        remove(entry);
+        return Optional.ofNullable(entry).map(Entry::employee);
+    }
+
+    private void remove(Entry entry) {
+        if (entry == null) {
+            return;
+        }
+        MockEmployee employee = entry.employee();
+        bySequence.remove(entry.sequence());
+        size--;
+        if (employee.getId() != null) {
+            byId.remove(employee.getId(), entry);
+        }
+        if (employee.getName() != null) {
+            byName.computeIfPresent(normalize(employee.getName()), (key, sequences) -> {
+                sequences.remove(entry.sequence());
+                return sequences.isEmpty() ? null : sequences;
+            });
+        }
+    }
+
+    private static String normalize(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    private record Entry(long sequence, MockEmployee employee) {}
+}
@@ -0,0 +1,48 @@
+package com.reliaquest.server.store;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Assigns each distinct string a dense int code, so a column of heavily repeated values is stored as an int per row
+ * plus one copy of every value.
+ * <p>
+ * Only one thread may encode at a time. Decoding may run concurrently for any code whose assignment happened before,
+ * e.g. one read from a row published through a volatile write after it was encoded.
+ */
+final class StringDictionary {
+
+    private final Map<String, Integer> codes = new HashMap<>();
+
+    private volatile String[] values = new String[16];
+    private int size;
+
+    int encode(String value) {
+        final var code = codes.get(value);
+        if (code != null) {
+            return code;
+        }
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        values[size] = value;
+        codes.put(value, size);
+        return size++;
+    }
+
+    String decode(int code) {
+        return values[code];
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Bound on every code assigned before this call, safe to read from any thread.
+     */
+    int codeLimit() {
+        return values.length;
+    }
+}
@@ -0,0 +1,113 @@
+package com.reliaquest.server.store;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash map from a UUID, held as its two longs, to an int row. Keys and rows live in three parallel
+ * primitive arrays, so an entry costs 20 bytes of table instead of a map node, a boxed key and a boxed value.
+ * <p>
+ * Collisions are resolved by linear probing and removals shift later entries back into the gap, so the table never
+ * accumulates tombstones. Not thread-safe.
+ */
+final class UuidRowIndex {
+
+    static final int ABSENT = -1;
+
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] mostSignificant;
+    private long[] leastSignificant;
+    private int[] rows;
+    private int mask;
+    private int size;
+
+    UuidRowIndex(int expectedSize) {
+        allocate(Integer.highestOneBit(Math.max(MIN_CAPACITY, expectedSize * 2 - 1)) << 1);
+    }
+
+    int get(long msb, long lsb) {
+        for (int slot = slot(msb, lsb); ; slot = (slot + 1) & mask) {
+            if (rows[slot] == ABSENT) {
+                return ABSENT;
+            }
+            if (mostSignificant[slot] == msb && leastSignificant[slot] == lsb) {
+                return rows[slot];
+            }
+        }
+    }
+
+    void put(long msb, long lsb, int row) {
+        if ((size + 1) * 2L > rows.length) {
+            resize();
+        }
+        int slot = slot(msb, lsb);
+        while (rows[slot] != ABSENT) {
+            if (mostSignificant[slot] == msb && leastSignificant[slot] == lsb) {
+                rows[slot] = row;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        mostSignificant[slot] = msb;
+        leastSignificant[slot] = lsb;
+        rows[slot] = row;
+        size++;
+    }
+
+    /**
+     * Returns the row that was mapped, or {@link #ABSENT}.
+     */
+    int remove(long msb, long lsb) {
+        int gap = slot(msb, lsb);
+        while (rows[gap] != ABSENT && (mostSignificant[gap] != msb || leastSignificant[gap] != lsb)) {
+            gap = (gap + 1) & mask;
+        }
+        final var row = rows[gap];
+        if (row == ABSENT) {
+            return ABSENT;
+        }
+        // Move back every following entry of the run whose home slot does not lie between the gap and itself.
+        for (int slot = (gap + 1) & mask; rows[slot] != ABSENT; slot = (slot + 1) & mask) {
+            final var home = slot(mostSignificant[slot], leastSignificant[slot]);
+            if (((slot - home) & mask) >= ((slot - gap) & mask)) {
+                mostSignificant[gap] = mostSignificant[slot];
+                leastSignificant[gap] = leastSignificant[slot];
+                rows[gap] = rows[slot];
+                gap = slot;
+            }
+        }
+        rows[gap] = ABSENT;
+        size--;
+        return row;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private int slot(long msb, long lsb) {
+        final var hash = (msb ^ lsb) * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private void resize() {
+        final var oldMostSignificant = mostSignificant;
+        final var oldLeastSignificant = leastSignificant;
+        final var oldRows = rows;
+        allocate(oldRows.length * 2);
+        for (int slot = 0; slot < oldRows.length; slot++) {
+            if (oldRows[slot] != ABSENT) {
+                put(oldMostSignificant[slot], oldLeastSignificant[slot], oldRows[slot]);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        mostSignificant = new long[capacity];
+        leastSignificant = new long[capacity];
+        rows = new int[capacity];
+        Arrays.fill(rows, ABSENT);
+        mask = capacity - 1;
+        size = 0;
+    }
+}
@@ -0,0 +1,41 @@
+package com.reliaquest.server.web;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.util.concurrent.TimeUnit;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+public class ClientRateLimitInterceptor implements HandlerInterceptor {
+
+    private final ClientRateLimiter rateLimiter;
+    private final String clientHeader;
+    private final Counter admitted;
+    private final Counter rejected;
+
+    public ClientRateLimitInterceptor(ClientRateLimiter rateLimiter, String clientHeader, MeterRegistry registry) {
+        this.rateLimiter = rateLimiter;
+        this.clientHeader = clientHeader;
+        this.admitted = registry.counter("mock.rate.limit.requests", "outcome", "admitted");
+        this.rejected = registry.counter("mock.rate.limit.requests", "outcome", "rejected");
+        registry.gauge("mock.rate.limit.clients", rateLimiter, ClientRateLimiter::trackedClients);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        final var client = request.getHeader(clientHeader);
+        final var wait = rateLimiter.tryAcquire(client == null || client.isBlank() ? request.getRemoteAddr() : client);
+        if (wait > 0) {
+            rejected.increment();
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            final var retryAfterSeconds = TimeUnit.NANOSECONDS.toSeconds(wait + TimeUnit.SECONDS.toNanos(1) - 1);
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, retryAfterSeconds)));
+            return false;
+        }
+        admitted.increment();
+        return true;
+    }
+}
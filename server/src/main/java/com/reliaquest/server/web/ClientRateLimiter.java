@@ -0,0 +1,118 @@
+package com.reliaquest.server.web;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import lombok.NonNull;
+
+/**
+ * Per-client rate limiter using the generic cell rate algorithm (GCRA).
+ * <p>
+ * Each client is reduced to one {@code long}: its theoretical arrival time (TAT), the instant at which its bucket would
+ * be empty again. A request is admitted when the TAT is at most the burst tolerance ahead of now, and admission moves
+ * the TAT forward by one emission interval. That single word is updated with a compare-and-set, so admitting a
+ * request takes no lock; clients live in a {@link ConcurrentHashMap}, whose striping keeps different clients from
+ * contending with each other. The outcome depends only on request timing, never on random state.
+ * <p>
+ * At most {@code maxTrackedClients} clients are tracked. Once that many are, idle clients are forgotten to make room;
+ * while every tracked client is still limited, requests from new clients are rejected rather than growing the map or
+ * forgetting a limited client, which would reset its bucket.
+ */
+public class ClientRateLimiter {
+
+    private final Map<String, Limit> limitsByClient = new HashMap<>();
+    private final Limit defaultLimit;
+    private final int maxTrackedClients;
+    private final LongSupplier nanoTime;
+    private final ConcurrentHashMap<String, AtomicLong> arrivals = new ConcurrentHashMap<>();
+
+    public ClientRateLimiter(@NonNull RateLimitProperties properties) {
+        this(properties, System::nanoTime);
+    }
+
+    ClientRateLimiter(@NonNull RateLimitProperties properties, @NonNull LongSupplier nanoTime) {
+        this.nanoTime = nanoTime;
+        final var limitsByProfile = new HashMap<String, Limit>();
+        properties.profiles().forEach((name, profile) -> limitsByProfile.put(name, Limit.of(name, profile)));
+        this.defaultLimit = requireProfile(limitsByProfile, properties.defaultProfile());
+        properties
+                .clients()
+                .forEach((client, profile) -> limitsByClient.put(client, requireProfile(limitsByProfile, profile)));
+        if (properties.maxTrackedClients() < 1) {
+            throw new IllegalStateException("Invalid max tracked clients: " + properties.maxTrackedClients());
+        }
+        this.maxTrackedClients = properties.maxTrackedClients();
+    }
+
+    /**
+     * Admits or rejects one request from {@code client}.
+     *
+     * @return 0 if the request is admitted, otherwise the nanoseconds to wait before the client may retry
+     */
+    public long tryAcquire(@NonNull String client) {
+        final var limit = limitsByClient.getOrDefault(client, defaultLimit);
+        final var now = nanoTime.getAsLong();
+        var arrival = arrivals.get(client);
+        if (arrival == null) {
+            // Evicting from inside computeIfAbsent would modify the map from its own mapping function.
+            if (arrivals.size() >= maxTrackedClients) {
+                evictIdleClients(now);
+            }
+            final var created = new AtomicLong(now);
+            arrival = arrivals.computeIfAbsent(client, ignored -> created);
+            // Checked after inserting so that concurrent new clients cannot all pass a check made before any of them.
+            if (arrival == created && arrivals.size() > maxTrackedClients) {
+                arrivals.remove(client, created);
+                return limit.emissionInterval();
+            }
+        }
+
+        while (true) {
+            final var tat = arrival.get();
+            final var start = Math.max(tat, now);
+            final var wait = start - now - limit.burstTolerance();
+            if (wait > 0) {
+                return wait;
+            }
+            if (arrival.compareAndSet(tat, start + limit.emissionInterval())) {
+                return 0;
+            }
+        }
+    }
+
+    public int trackedClients() {
+        return arrivals.size();
+    }
+
+    /*
+     * A client whose TAT has passed has a full bucket, so forgetting it changes nothing.
+     */
+    private void evictIdleClients(long now) {
+        arrivals.values().removeIf(arrival -> arrival.get() - now <= 0);
+    }
+
+    private static Limit requireProfile(Map<String, Limit> limits, String profile) {
+        final var limit = limits.get(profile);
+        if (limit == null) {
+            throw new IllegalStateException("Unknown rate limit profile: " + profile);
+        }
+        return limit;
+    }
+
+    private record Limit(long emissionInterval, long burstTolerance) {
+
+        static Limit of(String name, RateLimitProperties.Profile profile) {
+            if (profile.requests() < 1
+                    || profile.burst() < 1
+                    || profile.period() == null
+                    || profile.period().isNegative()
+                    || profile.period().isZero()) {
+                throw new IllegalStateException("Invalid rate limit profile: " + name);
+            }
+            final var emissionInterval = Math.max(1, profile.period().toNanos() / profile.requests());
+            return new Limit(emissionInterval, emissionInterval * (profile.burst() - 1));
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.reliaquest.server.web;
+
+import java.time.Duration;
+import java.util.Map;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Rate limiting profiles for the mock server, bound from {@code mock.rate-limit}.
+ *
+ * @param clientHeader request header identifying a client; the remote address is used when it is absent
+ * @param defaultProfile profile applied to clients not listed in {@code clients}
+ * @param maxTrackedClients most client states kept; idle ones are evicted to make room, and new clients are
+ *     rejected while all of them are still limited
+ * @param profiles named limits
+ * @param clients client id to profile name
+ */
+@ConfigurationProperties("mock.rate-limit")
+public record RateLimitProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("X-Client-Id") String clientHeader,
+        @DefaultValue("default") String defaultProfile,
+        @DefaultValue("10000") int maxTrackedClients,
+        Map<String, Profile> profiles,
+        Map<String, String> clients) {
+
+    public RateLimitProperties {
+        profiles = profiles == null ? Map.of() : Map.copyOf(profiles);
+        clients = clients == null ? Map.of() : Map.copyOf(clients);
+    }
+
+    /**
+     * Sustained rate of {@code requests} per {@code period}, of which up to {@code burst} may arrive back to back.
+     */
+    public record Profile(int requests, Duration period, int burst) {}
+}
@@ -0,0 +1,99 @@
+package com.reliaquest.server.store;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Behaviour every store layout shares; subclasses only say how to build the store.
+ */
+abstract class AbstractEmployeeStoreTest {
+
+    abstract AbstractEmployeeStore store(List<MockEmployee> employees, int retainedChanges);
+
+    @Test
+    void listsEmployeesInInsertionOrder() {
+        final var ada = employee("Ada Lovelace");
+        final var grace = employee("Grace Hopper");
+        final var store = store(List.of(ada), 10);
+
+        store.insert(grace);
+
+        assertThat(store.findAll()).containsExactly(ada, grace);
+        assertThat(store.size()).isEqualTo(2);
+        assertThat(store.findById(grace.getId())).isPresent();
+    }
+
+    @Test
+    void insertReplacesTheEmployeeWithTheSameId() {
+        final var ada = employee("Ada Lovelace");
+        final var store = store(List.of(ada), 10);
+        final var renamed = new MockEmployee(ada.getId(), "Ada King", 120_000, 41, "Countess", "ada@example.com");
+
+        store.insert(renamed);
+
+        assertThat(store.findAll()).containsExactly(renamed);
+    }
+
+    @Test
+    void deleteByNameRemovesTheEarliestMatchIgnoringCase() {
+        final var first = employee("Ada Lovelace");
+        final var second = employee("Ada Lovelace");
+        final var store = store(List.of(first, second), 10);
+
+        assertThat(store.deleteByName("ADA LOVELACE")).contains(first);
+
+        assertThat(store.findAll()).containsExactly(second);
+        assertThat(store.deleteByName("Grace Hopper")).isEmpty();
+    }
+
+    @Test
+    void snapshotsStayUnchangedByLaterWrites() {
+        final var ada = employee("Ada Lovelace");
+        final var store = store(List.of(ada), 10);
+        final var before = store.snapshot();
+
+        store.insert(employee("Grace Hopper"));
+        store.deleteById(ada.getId());
+
+        assertThat(before.employees()).containsExactly(ada);
+        assertThat(store.snapshot().version()).isEqualTo(before.version() + 2);
+        assertThat(store.snapshot()).isSameAs(store.snapshot());
+    }
+
+    @Test
+    void changesSinceReturnsTheLoggedWritesInOrder() {
+        final var ada = employee("Ada Lovelace");
+        final var store = store(List.of(ada), 10);
+        final var start = store.version();
+        final var grace = store.insert(employee("Grace Hopper"));
+        store.deleteById(ada.getId());
+
+        final var changes = store.changesSince(start).orElseThrow();
+
+        assertThat(changes.version()).isEqualTo(start + 2);
+        assertThat(changes.changes()).hasSize(2);
+        assertThat(changes.changes().get(0).employee()).isEqualTo(grace);
+        assertThat(changes.changes().get(1).type()).isEqualTo(EmployeeChange.Type.DELETED);
+        assertThat(store.changesSince(start + 2).orElseThrow().changes()).isEmpty();
+        assertThat(store.changesSince(start + 3)).isEmpty();
+    }
+
+    @Test
+    void changesSinceIsEmptyOnceTheNeededChangesAreTrimmed() {
+        final var store = store(List.of(), 2);
+        for (int i = 0; i < 3; i++) {
+            store.insert(employee("Employee " + i));
+        }
+
+        assertThat(store.changesSince(0)).isEmpty();
+        assertThat(store.changesSince(1).orElseThrow().changes()).hasSize(2);
+    }
+
+    static MockEmployee employee(String name) {
+        return new MockEmployee(UUID.randomUUID(), name, 100_000, 40, "Engineer", "employee@example.com");
+    }
+}
@@ -0,0 +1,30 @@
+package com.reliaquest.server.store;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class ColumnarEmployeeStoreTest extends AbstractEmployeeStoreTest {
+
+    @Override
+    AbstractEmployeeStore store(List<MockEmployee> employees, int retainedChanges) {
+        return new ColumnarEmployeeStore(employees, retainedChanges);
+    }
+
+    @Test
+    void keepsMissingFieldsAndGrowsItsColumns() {
+        final var employees = new ArrayList<MockEmployee>();
+        employees.add(new MockEmployee(null, null, null, null, null, null));
+        for (int i = 0; i < 1_000; i++) {
+            employees.add(employee("Employee " + i));
+        }
+        final var store = new ColumnarEmployeeStore(List.of(), 10);
+
+        store.insertAll(employees);
+
+        assertThat(store.findAll()).containsExactlyElementsOf(employees);
+    }
+}
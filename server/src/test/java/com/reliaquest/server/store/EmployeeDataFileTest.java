@@ -0,0 +1,133 @@
+package com.reliaquest.server.store;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class EmployeeDataFileTest {
+
+    // Magic, format, version, epoch, row count, email bytes and the three dictionary sizes.
+    private static final int HEADER_BYTES = 7 * Integer.BYTES + 2 * Long.BYTES;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void roundTripsLiveEmployeesAndVersion() throws IOException {
+        final var kept = employee("Ada Lovelace", "ada@example.com");
+        final var deleted = employee("Alan Turing", "alan@example.com");
+        final var withoutEmail = employee("Grace Hopper", null);
+        final var store = new ColumnarEmployeeStore(List.of(kept, deleted, withoutEmail), 10);
+        store.deleteById(deleted.getId());
+        final var file = directory.resolve("employees.dat");
+
+        final var version = EmployeeDataFile.write(file, store);
+        final var read = EmployeeDataFile.read(file, 10);
+
+        assertThat(version).isEqualTo(store.version());
+        assertThat(read.version()).isEqualTo(version);
+        assertThat(read.epoch()).isEqualTo(store.epoch());
+        assertThat(read.snapshot().employees()).containsExactly(kept, withoutEmail);
+        assertThat(read.findById(kept.getId())).isPresent();
+        assertThat(read.findById(deleted.getId())).isEmpty();
+        try (Stream<Path> files = Files.list(directory)) {
+            assertThat(files.toList()).containsExactly(file);
+        }
+    }
+
+    @Test
+    void leavesOtherWritersTemporaryFilesAlone() throws IOException {
+        final var file = directory.resolve("employees.dat");
+        final var foreign = Files.writeString(directory.resolve("employees.dat.tmp"), "another writer");
+        final var employee = employee("Ada Lovelace", "ada@example.com");
+
+        EmployeeDataFile.write(file, new ColumnarEmployeeStore(List.of(employee)));
+
+        assertThat(Files.readString(foreign)).isEqualTo("another writer");
+        assertThat(EmployeeDataFile.read(file, 10).snapshot().employees()).containsExactly(employee);
+    }
+
+    @Test
+    void convertsOtherStoreLayouts() throws IOException {
+        final var employee = employee("Ada Lovelace", "ada@example.com");
+        final var file = directory.resolve("employees.dat");
+
+        final var store = new IndexedEmployeeStore(List.of(employee));
+
+        EmployeeDataFile.write(file, store);
+
+        final var read = EmployeeDataFile.read(file, 10);
+        assertThat(read.snapshot().employees()).containsExactly(employee);
+        assertThat(read.epoch()).isEqualTo(store.epoch());
+    }
+
+    @Test
+    void rejectsFilesOfAnotherFormat() throws IOException {
+        final var file = directory.resolve("employees.dat");
+        Files.write(file, new byte[HEADER_BYTES]);
+
+        assertThatThrownBy(() -> EmployeeDataFile.read(file, 10))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("is not an employee data file");
+    }
+
+    @Test
+    void rejectsTruncatedFiles() throws IOException {
+        final var file = directory.resolve("employees.dat");
+        EmployeeDataFile.write(file, new ColumnarEmployeeStore(List.of(employee("Ada Lovelace", "ada@example.com"))));
+        try (var channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(HEADER_BYTES + 8);
+        }
+
+        assertThatThrownBy(() -> EmployeeDataFile.read(file, 10))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("is truncated");
+    }
+
+    @Test
+    void rejectsNameCodesOutsideTheDictionary() throws IOException {
+        final var file = directory.resolve("employees.dat");
+        EmployeeDataFile.write(file, new ColumnarEmployeeStore(List.of(employee("Ada Lovelace", "ada@example.com"))));
+        // One row: the name column follows both id halves, the salaries and the ages.
+        overwriteInt(file, HEADER_BYTES + 2 * Long.BYTES + 2 * Integer.BYTES, 7);
+
+        assertThatThrownBy(() -> EmployeeDataFile.read(file, 10))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("is corrupt");
+    }
+
+    @Test
+    void rejectsEmailOffsetsBeyondTheEmailBytes() throws IOException {
+        final var file = directory.resolve("employees.dat");
+        EmployeeDataFile.write(file, new ColumnarEmployeeStore(List.of(employee("Ada Lovelace", "ada@example.com"))));
+        // One row: the email ends follow the ids and five int columns.
+        overwriteInt(file, HEADER_BYTES + 2 * Long.BYTES + 5 * Integer.BYTES, 1_000);
+
+        assertThatThrownBy(() -> EmployeeDataFile.read(file, 10))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("is corrupt");
+    }
+
+    private static void overwriteInt(Path file, long position, int value) throws IOException {
+        try (var channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN).putInt(0, value), position);
+        }
+    }
+
+    private static MockEmployee employee(String name, String email) {
+        return new MockEmployee(UUID.randomUUID(), name, 100_000, 40, "Engineer", email);
+    }
+}
@@ -0,0 +1,191 @@
+package com.reliaquest.server.store;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class EmployeeWriteAheadLogTest {
+
+    private static final long NO_COMPACTION = Long.MAX_VALUE;
+
+    @TempDir
+    Path directory;
+
+    private final List<EmployeeWriteAheadLog> logs = new ArrayList<>();
+
+    @AfterEach
+    void closeLogs() throws IOException {
+        for (EmployeeWriteAheadLog log : logs) {
+            try {
+                log.close();
+            } catch (IOException | RuntimeException e) {
+                // Left behind by a simulated crash.
+            }
+        }
+    }
+
+    @Test
+    void replaysWritesMadeAfterTheDataFile() throws IOException {
+        final var dataFile = dataFile(List.of(employee("Ada Lovelace")));
+        final var store = open(dataFile);
+        final var grace = store.insert(employee("Grace Hopper"));
+        store.deleteByName("ada lovelace");
+
+        final var recovered = open(dataFile);
+
+        assertThat(recovered.version()).isEqualTo(store.version());
+        assertThat(recovered.epoch()).isEqualTo(store.epoch());
+        assertThat(recovered.snapshot().employees()).containsExactly(grace);
+    }
+
+    @Test
+    void skipsRecordsTheDataFileAlreadyHolds() throws IOException {
+        final var dataFile = dataFile(List.of());
+        final var store = open(dataFile);
+        store.insert(employee("Ada Lovelace"));
+        EmployeeDataFile.write(dataFile, store);
+        final var grace = store.insert(employee("Grace Hopper"));
+
+        final var recovered = open(dataFile);
+
+        assertThat(recovered.version()).isEqualTo(store.version());
+        assertThat(recovered.size()).isEqualTo(2);
+        assertThat(recovered.findById(grace.getId())).isPresent();
+    }
+
+    @Test
+    void dropsATornRecordAtTheEndOfTheLog() throws IOException {
+        final var dataFile = dataFile(List.of());
+        final var store = open(dataFile);
+        final var ada = store.insert(employee("Ada Lovelace"));
+        final var segment = lastSegment(dataFile);
+        final var intact = Files.size(segment);
+        Files.write(segment, new byte[] {0, 0, 0, 40, 1, 2, 3}, StandardOpenOption.APPEND);
+
+        final var recovered = open(dataFile);
+
+        assertThat(recovered.snapshot().employees()).containsExactly(ada);
+        assertThat(Files.size(segment)).isEqualTo(intact);
+    }
+
+    @Test
+    void rejectsACorruptRecordBeforeTheLastSegment() throws IOException {
+        final var dataFile = dataFile(List.of());
+        open(dataFile).insert(employee("Ada Lovelace"));
+        final var first = lastSegment(dataFile);
+        open(dataFile);
+        final var bytes = Files.readAllBytes(first);
+        bytes[bytes.length - 1] ^= 1;
+        Files.write(first, bytes);
+
+        assertThatThrownBy(() -> open(dataFile))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("Corrupt record");
+    }
+
+    @Test
+    void keepsStringsBeyondSixtyFourKilobytes() throws IOException {
+        final var dataFile = dataFile(List.of());
+        final var store = open(dataFile);
+        final var employee = store.insert(employee("é".repeat(40_000)));
+
+        assertThat(open(dataFile).findById(employee.getId()).orElseThrow().getName())
+                .isEqualTo(employee.getName());
+    }
+
+    @Test
+    void closingAFailedLogKeepsItAndDoesNotSaveUnloggedWrites() throws IOException {
+        final var ada = employee("Ada Lovelace");
+        final var dataFile = dataFile(List.of(ada));
+        final var running = flushers();
+        final var store = open(dataFile);
+        final var flushers = flushers();
+        flushers.removeAll(running);
+        // An interrupted flusher has its segment closed under it, so its next write fails.
+        flushers.forEach(Thread::interrupt);
+
+        assertThatThrownBy(() -> store.insert(employee("Grace Hopper"))).isInstanceOf(UncheckedIOException.class);
+        assertThatThrownBy(() -> store.insert(employee("Alan Turing"))).isInstanceOf(UncheckedIOException.class);
+        assertThat(store.size()).isEqualTo(2);
+        logs.remove(0).close();
+
+        assertThat(lastSegment(dataFile)).isNotNull();
+        assertThat(open(dataFile).snapshot().employees()).containsExactly(ada);
+    }
+
+    @Test
+    void rejectsWritesOnceClosedWithoutChangingTheStore() throws IOException {
+        final var dataFile = dataFile(List.of());
+        final var store = open(dataFile);
+        logs.remove(0).close();
+
+        assertThatThrownBy(() -> store.insert(employee("Ada Lovelace"))).isInstanceOf(IllegalStateException.class);
+        assertThat(store.size()).isZero();
+        assertThat(store.version()).isZero();
+    }
+
+    @Test
+    void closingLeavesOnlyTheDataFile() throws IOException {
+        final var dataFile = dataFile(List.of());
+        final var store = open(dataFile);
+        final var ada = store.insert(employee("Ada Lovelace"));
+
+        logs.remove(0).close();
+
+        assertThat(lastSegment(dataFile)).isNull();
+        assertThat(EmployeeDataFile.read(dataFile, 10).snapshot().employees()).containsExactly(ada);
+    }
+
+    private static Set<Thread> flushers() {
+        return Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> thread.getName().equals("employee-wal-flusher"))
+                .collect(Collectors.toCollection(HashSet::new));
+    }
+
+    private Path dataFile(List<MockEmployee> employees) throws IOException {
+        final var dataFile = directory.resolve("employees.dat");
+        EmployeeDataFile.write(dataFile, new ColumnarEmployeeStore(employees, 10));
+        return dataFile;
+    }
+
+    private ColumnarEmployeeStore open(Path dataFile) throws IOException {
+        final var store = EmployeeDataFile.read(dataFile, 10);
+        logs.add(EmployeeWriteAheadLog.open(dataFile, store, NO_COMPACTION));
+        return store;
+    }
+
+    private Path lastSegment(Path dataFile) throws IOException {
+        final var prefix = dataFile.getFileName() + ".wal.";
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().startsWith(prefix))
+                    .max(Comparator.comparingLong(EmployeeWriteAheadLogTest::number))
+                    .orElse(null);
+        }
+    }
+
+    private static long number(Path segment) {
+        final var name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(name.lastIndexOf('.') + 1));
+    }
+
+    private static MockEmployee employee(String name) {
+        return new MockEmployee(UUID.randomUUID(), name, 100_000, 40, "Engineer", "employee@example.com");
+    }
+}
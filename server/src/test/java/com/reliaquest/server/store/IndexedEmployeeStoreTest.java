@@ -0,0 +1,12 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.List;
+
+class IndexedEmployeeStoreTest extends AbstractEmployeeStoreTest {
+
+    @Override
+    AbstractEmployeeStore store(List<MockEmployee> employees, int retainedChanges) {
+        return new IndexedEmployeeStore(employees, retainedChanges);
+    }
+}
@@ -0,0 +1,34 @@
+package com.reliaquest.server.store;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class StringDictionaryTest {
+
+    @Test
+    void assignsOneDenseCodePerDistinctValue() {
+        final var dictionary = new StringDictionary();
+
+        final var engineer = dictionary.encode("Engineer");
+        final var manager = dictionary.encode("Manager");
+
+        assertThat(dictionary.encode("Engineer")).isEqualTo(engineer);
+        assertThat(engineer).isZero();
+        assertThat(manager).isEqualTo(1);
+        assertThat(dictionary.size()).isEqualTo(2);
+        assertThat(dictionary.decode(manager)).isEqualTo("Manager");
+    }
+
+    @Test
+    void growsPastItsInitialCapacity() {
+        final var dictionary = new StringDictionary();
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(dictionary.encode("title " + i)).isEqualTo(i);
+        }
+
+        assertThat(dictionary.decode(99)).isEqualTo("title 99");
+        assertThat(dictionary.codeLimit()).isGreaterThanOrEqualTo(dictionary.size());
+    }
+}
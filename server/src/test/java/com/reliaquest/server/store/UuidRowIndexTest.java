@@ -0,0 +1,52 @@
+package com.reliaquest.server.store;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class UuidRowIndexTest {
+
+    @Test
+    void keepsEveryEntryAcrossResizes() {
+        final var index = new UuidRowIndex(0);
+
+        for (int row = 0; row < 10_000; row++) {
+            index.put(row, ~row, row);
+        }
+
+        assertThat(index.size()).isEqualTo(10_000);
+        for (int row = 0; row < 10_000; row++) {
+            assertThat(index.get(row, ~row)).isEqualTo(row);
+        }
+        assertThat(index.get(10_000, ~10_000)).isEqualTo(UuidRowIndex.ABSENT);
+    }
+
+    @Test
+    void replacesTheRowOfAnExistingKey() {
+        final var index = new UuidRowIndex(4);
+        index.put(1, 2, 3);
+
+        index.put(1, 2, 4);
+
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.get(1, 2)).isEqualTo(4);
+    }
+
+    @Test
+    void removalKeepsCollidingKeysReachable() {
+        // Equal halves hash to the same slot, so these keys form one probe run.
+        final var index = new UuidRowIndex(16);
+        for (int key = 1; key <= 5; key++) {
+            index.put(key, key, key);
+        }
+
+        assertThat(index.remove(2, 2)).isEqualTo(2);
+        assertThat(index.remove(2, 2)).isEqualTo(UuidRowIndex.ABSENT);
+
+        assertThat(index.size()).isEqualTo(4);
+        assertThat(index.get(2, 2)).isEqualTo(UuidRowIndex.ABSENT);
+        for (int key : new int[] {1, 3, 4, 5}) {
+            assertThat(index.get(key, key)).isEqualTo(key);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.reliaquest.server.web;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class ClientRateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private long now = 1_000 * SECOND;
+
+    @Test
+    void admitsBurstThenPacesAtSustainedRate() {
+        final var limiter = limiter(10, 3, Map.of());
+
+        assertThat(limiter.tryAcquire("a")).isZero();
+        assertThat(limiter.tryAcquire("a")).isZero();
+        assertThat(limiter.tryAcquire("a")).isZero();
+        final var wait = limiter.tryAcquire("a");
+
+        assertThat(wait).isEqualTo(SECOND);
+        now += wait;
+        assertThat(limiter.tryAcquire("a")).isZero();
+        assertThat(limiter.tryAcquire("a")).isPositive();
+    }
+
+    @Test
+    void rejectedRequestsDoNotDelayTheClient() {
+        final var limiter = limiter(10, 1, Map.of());
+
+        assertThat(limiter.tryAcquire("a")).isZero();
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryAcquire("a")).isEqualTo(SECOND);
+        }
+        now += SECOND;
+
+        assertThat(limiter.tryAcquire("a")).isZero();
+    }
+
+    @Test
+    void clientsAreLimitedIndependentlyAndByTheirProfile() {
+        final var limiter = limiter(10, 1, 10, Map.of("batch", "generous"));
+
+        assertThat(limiter.tryAcquire("a")).isZero();
+        assertThat(limiter.tryAcquire("a")).isPositive();
+        assertThat(limiter.tryAcquire("b")).isZero();
+        for (int i = 0; i < 100; i++) {
+            assertThat(limiter.tryAcquire("batch")).isZero();
+        }
+    }
+
+    @Test
+    void evictsIdleClientsOnceTheLimitIsReached() {
+        final var limiter = limiter(10, 1, Map.of());
+        limiter.tryAcquire("a");
+        limiter.tryAcquire("b");
+        assertThat(limiter.trackedClients()).isEqualTo(2);
+
+        now += SECOND;
+        limiter.tryAcquire("c");
+
+        assertThat(limiter.trackedClients()).isEqualTo(1);
+    }
+
+    @Test
+    void rejectsNewClientsWhileEveryTrackedClientIsStillLimited() {
+        final var limiter = limiter(10, 1, Map.of());
+        limiter.tryAcquire("a");
+        limiter.tryAcquire("b");
+
+        assertThat(limiter.tryAcquire("c")).isEqualTo(SECOND);
+
+        assertThat(limiter.trackedClients()).isEqualTo(2);
+        assertThat(limiter.tryAcquire("a")).isPositive();
+    }
+
+    @Test
+    void admitsANewClientOnceATrackedClientIsIdle() {
+        final var limiter = limiter(10, 1, Map.of());
+        limiter.tryAcquire("a");
+        now += SECOND / 2;
+        limiter.tryAcquire("b");
+        assertThat(limiter.tryAcquire("c")).isPositive();
+
+        now += SECOND / 2;
+
+        assertThat(limiter.tryAcquire("c")).isZero();
+        assertThat(limiter.trackedClients()).isEqualTo(2);
+        assertThat(limiter.tryAcquire("b")).isPositive();
+    }
+
+    @Test
+    void rejectsUnknownProfiles() {
+        final var properties = new RateLimitProperties(
+                true, "X-Client-Id", "missing", 10, Map.of("default", profile(10, 1)), Map.of());
+
+        assertThatThrownBy(() -> new ClientRateLimiter(properties))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("missing");
+    }
+
+    @Test
+    void rejectsAMaxTrackedClientsBelowOne() {
+        final var properties =
+                new RateLimitProperties(true, "X-Client-Id", "default", 0, Map.of("default", profile(10, 1)), Map.of());
+
+        assertThatThrownBy(() -> new ClientRateLimiter(properties))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("max tracked clients");
+    }
+
+    private ClientRateLimiter limiter(int requestsPerTenSeconds, int burst, Map<String, String> clients) {
+        return limiter(requestsPerTenSeconds, burst, 2, clients);
+    }
+
+    private ClientRateLimiter limiter(
+            int requestsPerTenSeconds, int burst, int maxTrackedClients, Map<String, String> clients) {
+        final var properties = new RateLimitProperties(
+                true,
+                "X-Client-Id",
+                "default",
+                maxTrackedClients,
+                Map.of("default", profile(requestsPerTenSeconds, burst), "generous", profile(1_000, 1_000)),
+                clients);
+        return new ClientRateLimiter(properties, () -> now);
+    }
+
+    private static RateLimitProperties.Profile profile(int requests, int burst) {
+        return new RateLimitProperties.Profile(requests, Duration.ofSeconds(10), burst);
+    }
+}